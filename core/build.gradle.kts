@@ -87,6 +87,10 @@ tasks.test {
     if (!verboseTest) {
         exclude("**/DemoTest*")
     }
+    // Benchmarks are only run if enabled e.g. using gradlew test -Ddarklaf.benchmark=true
+    System.getProperties().stringPropertyNames().filter { it.startsWith("darklaf.benchmark") }.forEach {
+        systemProperty(it, System.getProperty(it))
+    }
 }
 
 fun Jar.includeLicenses() {
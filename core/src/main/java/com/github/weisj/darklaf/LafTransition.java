@@ -20,15 +20,16 @@
  */
 package com.github.weisj.darklaf;
 
-
-
 import java.awt.AlphaComposite;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Image;
 import java.awt.Rectangle;
+import java.awt.Transparency;
 import java.awt.Window;
+import java.awt.image.VolatileImage;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -40,6 +41,8 @@ import com.github.weisj.darklaf.graphics.Animator;
 import com.github.weisj.darklaf.graphics.DefaultInterpolator;
 import com.github.weisj.darklaf.util.ImageUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
 import com.github.weisj.darklaf.util.graphics.ImagePainter;
 import com.github.weisj.darklaf.util.value.SharedNonNull;
 
@@ -62,7 +65,7 @@ class LafTransition {
     static final class AnimatedLafTransition extends LafTransition {
 
         private final Animator animator;
-        private final Map<JLayeredPane, Component> uiSnapshots;
+        private final Map<JLayeredPane, ImageLayer> uiSnapshots;
         private final SharedNonNull<Float> sharedAlpha;
 
         private AnimatedLafTransition() {
@@ -77,9 +80,9 @@ class LafTransition {
             for (Window window : windows) {
                 if (window instanceof RootPaneContainer && window.isShowing()) {
                     RootPaneContainer rootPaneContainer = (RootPaneContainer) window;
-                    Image img = ImageUtil.scaledImageFromComponent(rootPaneContainer.getRootPane());
+                    Snapshot snapshot = Snapshot.capture(rootPaneContainer.getRootPane());
                     JLayeredPane layeredPane = rootPaneContainer.getLayeredPane();
-                    JComponent imageLayer = new ImageLayer(layeredPane, img, sharedAlpha);
+                    ImageLayer imageLayer = new ImageLayer(layeredPane, snapshot, sharedAlpha);
                     imageLayer.setSize(layeredPane.getSize());
                     layeredPane.add(imageLayer, JLayeredPane.DRAG_LAYER);
                     uiSnapshots.put(layeredPane, imageLayer);
@@ -94,8 +97,9 @@ class LafTransition {
         }
 
         private void disposeSnapshots() {
-            for (Map.Entry<JLayeredPane, Component> entry : uiSnapshots.entrySet()) {
+            for (Map.Entry<JLayeredPane, ImageLayer> entry : uiSnapshots.entrySet()) {
                 entry.getKey().remove(entry.getValue());
+                entry.getValue().dispose();
                 entry.getKey().revalidate();
                 entry.getKey().repaint();
             }
@@ -103,9 +107,8 @@ class LafTransition {
         }
 
         private void doPaint() {
-            for (Map.Entry<JLayeredPane, Component> entry : uiSnapshots.entrySet()) {
+            for (Map.Entry<JLayeredPane, ImageLayer> entry : uiSnapshots.entrySet()) {
                 if (entry.getKey().isShowing()) {
-                    entry.getValue().revalidate();
                     entry.getValue().repaint();
                 }
             }
@@ -136,26 +139,116 @@ class LafTransition {
         }
     }
 
+    /*
+     * Snapshot of a component. If possible the snapshot is kept in an accelerated opaque VolatileImage
+     * at device resolution. This avoids allocating a large translucent heap image for every window.
+     * The contents of a VolatileImage can be lost at any time, in which case the snapshot simply isn't
+     * painted anymore as the old ui can't be restored.
+     */
+    private static final class Snapshot {
+
+        private final GraphicsConfiguration gc;
+        private final double scaleX;
+        private final double scaleY;
+        private VolatileImage volatileImage;
+        private Image fallbackImage;
+
+        private Snapshot(final GraphicsConfiguration gc, final double scaleX, final double scaleY) {
+            this.gc = gc;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        private static Snapshot capture(final JComponent c) {
+            GraphicsConfiguration gc = c.getGraphicsConfiguration();
+            Snapshot snapshot = new Snapshot(gc, Scale.getScaleX(gc), Scale.getScaleY(gc));
+            if (gc != null) {
+                snapshot.volatileImage = snapshot.createVolatileSnapshot(c);
+            }
+            if (snapshot.volatileImage == null) {
+                snapshot.fallbackImage = ImageUtil.scaledImageFromComponent(c);
+            }
+            return snapshot;
+        }
+
+        private VolatileImage createVolatileSnapshot(final JComponent c) {
+            int width = (int) (scaleX * c.getWidth());
+            int height = (int) (scaleY * c.getHeight());
+            if (width <= 0 || height <= 0) return null;
+            VolatileImage image = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+            if (image == null) return null;
+            do {
+                if (image.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    image.flush();
+                    image = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+                    if (image == null) return null;
+                }
+                Graphics2D g = image.createGraphics();
+                try {
+                    GraphicsUtil.setupAntialiasing(g);
+                    g.scale(scaleX, scaleY);
+                    c.paint(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (image.contentsLost());
+            return image;
+        }
+
+        private void paint(final Graphics2D g, final Component observer) {
+            if (volatileImage != null) {
+                if (volatileImage.contentsLost() || volatileImage.validate(gc) != VolatileImage.IMAGE_OK) {
+                    dispose();
+                    return;
+                }
+                g.scale(1 / scaleX, 1 / scaleY);
+                g.drawImage(volatileImage, 0, 0, observer);
+            } else if (fallbackImage != null) {
+                ImagePainter.drawImage(g, fallbackImage, 0, 0, observer);
+            }
+        }
+
+        private void dispose() {
+            if (volatileImage != null) {
+                volatileImage.flush();
+                volatileImage = null;
+            }
+            if (fallbackImage != null) {
+                fallbackImage.flush();
+                fallbackImage = null;
+            }
+        }
+    }
+
     private static class ImageLayer extends JComponent {
 
         private final JLayeredPane layeredPane;
         private final SharedNonNull<Float> sharedAlpha;
-        private final Image image;
+        private final Snapshot snapshot;
 
-        private ImageLayer(final JLayeredPane layeredPane, final Image image, final SharedNonNull<Float> sharedAlpha) {
+        private ImageLayer(final JLayeredPane layeredPane, final Snapshot snapshot,
+                final SharedNonNull<Float> sharedAlpha) {
             this.layeredPane = layeredPane;
-            this.image = image;
+            this.snapshot = snapshot;
             this.sharedAlpha = sharedAlpha;
         }
 
+        private void dispose() {
+            snapshot.dispose();
+        }
+
         @Override
         public void updateUI() {}
 
         @Override
         public void paint(final Graphics g) {
-            Graphics gg = g.create();
-            ((Graphics2D) gg).setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, sharedAlpha.get()));
-            ImagePainter.drawImage(gg, image, 0, 0, this);
+            Graphics2D gg = (Graphics2D) g.create();
+            try {
+                gg.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, sharedAlpha.get()));
+                snapshot.paint(gg, this);
+            } finally {
+                gg.dispose();
+            }
         }
 
         @Override
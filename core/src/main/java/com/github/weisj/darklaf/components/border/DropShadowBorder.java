@@ -25,15 +25,19 @@ import java.awt.geom.RoundRectangle2D;
 import java.awt.image.*;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.border.Border;
 
 import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.Disposable;
 import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.cache.LRUCache;
 
 /**
  * Implements a DropShadow for components. In general, the DropShadowBorder will work with any
@@ -48,15 +52,16 @@ import com.github.weisj.darklaf.util.ImageUtil;
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation, {@code
  * DropShadowBorder} keeps internal static cache that allows sharing same border for multiple
- * re-rendering and between different instances of the class. Since this cache is shared at class
- * level and never reset, it might bleed your app memory in case you tend to create many borders
- * rapidly.
+ * re-rendering and between different instances of the class. The cache is bounded and evicts the
+ * least recently used shadows. Shadows can be computed ahead of time using {@link #prewarm()}.
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<ImageHashKey, BufferedImage[]> CACHE = new HashMap<>();
+    private static final int CACHE_CAPACITY = 64;
+    private static final LRUCache<ImageHashKey, BufferedImage[]> CACHE = new LRUCache<>(CACHE_CAPACITY);
+    private static final Map<ImageHashKey, CompletableFuture<Void>> PENDING = new ConcurrentHashMap<>();
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -139,92 +144,155 @@ public class DropShadowBorder implements Border, Serializable {
         return getCornerSize() + getShadowSize();
     }
 
+    /**
+     * Computes the shadow images for the current configuration of this border in the background
+     * using the common pool. Painting the border afterwards won't have to compute the shadow on the
+     * event dispatch thread.
+     *
+     * @return a future which completes as soon as the shadow images have been created.
+     * @see #prewarm(Executor)
+     */
+    public CompletableFuture<Void> prewarm() {
+        return prewarm(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the shadow images for the current configuration of this border using the given
+     * executor. Painting the border afterwards won't have to compute the shadow on the event dispatch
+     * thread. Changing the properties of the border afterwards will invalidate the result.
+     * <p>
+     * Nothing is scheduled if the shadow for the same configuration is already cached or currently being
+     * created, hence borders with equal configurations can be prewarmed without additional cost.
+     *
+     * @param executor the executor to create the images on.
+     * @return a future which completes as soon as the shadow images have been created.
+     */
+    public CompletableFuture<Void> prewarm(final Executor executor) {
+        ImageHashKey key = createKey();
+        if (CACHE.containsKey(key)) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> pending = PENDING.putIfAbsent(key, future);
+        if (pending != null) return pending;
+        try {
+            executor.execute(() -> {
+                try {
+                    getImages(key);
+                    future.complete(null);
+                } catch (final RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    PENDING.remove(key, future);
+                }
+            });
+        } catch (final RuntimeException e) {
+            PENDING.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private ImageHashKey createKey() {
+        return new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity);
+    }
+
     private BufferedImage[] getImages() {
+        return getImages(createKey());
+    }
+
+    private static BufferedImage[] getImages(final ImageHashKey key) {
         // first, check to see if an image for this size has already been rendered
         // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity));
-        if (images == null) {
-            images = new BufferedImage[Position.count()];
-
-            /*
-             * To draw a drop shadow, I have to:
-             *
-             * 1) Create a rounded rectangle
-             *
-             * 2) Create a BufferedImage to draw the rounded rect in
-             *
-             * 3) Translate the graphics for the image, so that the rectangle is centered in the drawn space.
-             * The border around the rectangle needs to be shadowWidth wide, so that there is space for the
-             * shadow to be drawn.
-             *
-             * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
-             *
-             * 5) Create the BLUR_KERNEL
-             *
-             * 6) Blur the image
-             *
-             * 7) copy off the corners, sides, etc. into images to be used for drawing the Border
-             */
-            int rectArc = shadowSize + cornerSize;
-            int rectWidth = 2 * rectArc + 1;
-            RoundRectangle2D rect = new RoundRectangle2D.Double(
-                    0, 0, rectWidth, rectWidth, rectArc, rectArc);
-            final int kernelSize = (3 * shadowSize) / 4;
-            final int imageSize = rectWidth + 2 * kernelSize;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageSize, imageSize);
-            Graphics2D buffer = (Graphics2D) image.getGraphics();
-
-            try (Disposable ignored = buffer::dispose) {
-                buffer.setPaint(ColorUtil.toAlpha(shadowColor, shadowOpacity));
-                double offset = (imageSize - rectWidth) / 2.0;
-                buffer.translate(offset, offset);
-                buffer.fill(rect);
-            }
-
-            float blurry = 1.0f / (float) (kernelSize * kernelSize);
-            float[] blurKernel = new float[kernelSize * kernelSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(kernelSize, kernelSize, blurKernel));
-
-            BufferedImage targetImage = blur.filter(image, null);
+        return CACHE.computeIfAbsent(key, DropShadowBorder::createImages);
+    }
 
-            int cornerImageSize = cornerImageSize();
-            int sideImageSize = shadowSize;
-
-            int cornerOppositeOffset = imageSize - cornerImageSize;
-            int sideOppositeOffset = imageSize - sideImageSize;
-
-            images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage,
-                    0, 0, cornerImageSize, cornerImageSize);
-            images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage,
-                    0, cornerOppositeOffset, cornerImageSize, cornerImageSize);
-            images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage,
-                    cornerOppositeOffset, cornerOppositeOffset, cornerImageSize, cornerImageSize);
-            images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage,
-                    cornerOppositeOffset, 0, cornerImageSize, cornerImageSize);
-
-            images[Position.LEFT.ordinal()] = getSubImage(targetImage,
-                    0, cornerImageSize, sideImageSize, 1);
-            images[Position.BOTTOM.ordinal()] = getSubImage(targetImage,
-                    cornerImageSize, sideOppositeOffset, 1, sideImageSize);
-            images[Position.RIGHT.ordinal()] = getSubImage(targetImage,
-                    sideOppositeOffset, cornerImageSize, sideImageSize, 1);
-            images[Position.TOP.ordinal()] = getSubImage(targetImage,
-                    cornerImageSize, 0, 1, sideImageSize);
-
-            image.flush();
-            targetImage.flush();
-            CACHE.put(new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity), images);
+    private static BufferedImage[] createImages(final ImageHashKey key) {
+        int shadowSize = key.shadowSize;
+        int cornerSize = key.cornerSize;
+        BufferedImage[] images = new BufferedImage[Position.count()];
+
+        /*
+         * To draw a drop shadow, I have to:
+         *
+         * 1) Create a rounded rectangle
+         *
+         * 2) Create a BufferedImage to draw the rounded rect in
+         *
+         * 3) Translate the graphics for the image, so that the rectangle is centered in the drawn space.
+         * The border around the rectangle needs to be shadowWidth wide, so that there is space for the
+         * shadow to be drawn.
+         *
+         * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
+         *
+         * 5) Blur the image. The box blur is separable, hence it is applied as a horizontal and a
+         * vertical pass, which only needs kernelSize instead of kernelSize^2 operations per pixel.
+         *
+         * 6) copy off the corners, sides, etc. into images to be used for drawing the Border
+         */
+        int rectArc = shadowSize + cornerSize;
+        int rectWidth = 2 * rectArc + 1;
+        RoundRectangle2D rect = new RoundRectangle2D.Double(
+                0, 0, rectWidth, rectWidth, rectArc, rectArc);
+        final int kernelSize = (3 * shadowSize) / 4;
+        final int imageSize = rectWidth + 2 * kernelSize;
+        BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageSize, imageSize);
+        Graphics2D buffer = (Graphics2D) image.getGraphics();
+
+        try (Disposable ignored = buffer::dispose) {
+            buffer.setPaint(ColorUtil.toAlpha(key.shadowColor, key.opacity));
+            double offset = (imageSize - rectWidth) / 2.0;
+            buffer.translate(offset, offset);
+            buffer.fill(rect);
         }
+
+        BufferedImage targetImage = blur(image, kernelSize);
+
+        int cornerImageSize = cornerSize + shadowSize;
+        int sideImageSize = shadowSize;
+
+        int cornerOppositeOffset = imageSize - cornerImageSize;
+        int sideOppositeOffset = imageSize - sideImageSize;
+
+        images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage,
+                0, 0, cornerImageSize, cornerImageSize);
+        images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage,
+                0, cornerOppositeOffset, cornerImageSize, cornerImageSize);
+        images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage,
+                cornerOppositeOffset, cornerOppositeOffset, cornerImageSize, cornerImageSize);
+        images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage,
+                cornerOppositeOffset, 0, cornerImageSize, cornerImageSize);
+
+        images[Position.LEFT.ordinal()] = getSubImage(targetImage,
+                0, cornerImageSize, sideImageSize, 1);
+        images[Position.BOTTOM.ordinal()] = getSubImage(targetImage,
+                cornerImageSize, sideOppositeOffset, 1, sideImageSize);
+        images[Position.RIGHT.ordinal()] = getSubImage(targetImage,
+                sideOppositeOffset, cornerImageSize, sideImageSize, 1);
+        images[Position.TOP.ordinal()] = getSubImage(targetImage,
+                cornerImageSize, 0, 1, sideImageSize);
+
+        image.flush();
+        targetImage.flush();
         return images;
     }
 
+    private static BufferedImage blur(final BufferedImage image, final int kernelSize) {
+        if (kernelSize <= 1) return image;
+        float[] blurKernel = new float[kernelSize];
+        Arrays.fill(blurKernel, 1.0f / kernelSize);
+        ConvolveOp horizontalBlur = new ConvolveOp(new Kernel(kernelSize, 1, blurKernel));
+        ConvolveOp verticalBlur = new ConvolveOp(new Kernel(1, kernelSize, blurKernel));
+        BufferedImage horizontallyBlurred = horizontalBlur.filter(image, null);
+        BufferedImage blurred = verticalBlur.filter(horizontallyBlurred, null);
+        horizontallyBlurred.flush();
+        return blurred;
+    }
+
     /**
      * Returns a new BufferedImage that represents a subregion of the given BufferedImage. (Note that
      * this method does not use BufferedImage.getSubimage(), which will defeat image acceleration
      * strategies on later JDKs.)
      */
-    private BufferedImage getSubImage(final BufferedImage img, final int x, final int y, final int w, final int h) {
+    private static BufferedImage getSubImage(final BufferedImage img, final int x, final int y, final int w, final int h) {
         BufferedImage ret = ImageUtil.createCompatibleTranslucentImage(w, h);
         Graphics2D g = ret.createGraphics();
         try (Disposable ignored = g::dispose) {
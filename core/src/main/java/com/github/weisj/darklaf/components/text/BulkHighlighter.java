@@ -0,0 +1,432 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.*;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyKey;
+import com.github.weisj.darklaf.util.graphics.GraphicsContext;
+
+/**
+ * Highlights a large number of ranges in a text component e.g. all matches of a search.
+ * <p>
+ * Instead of adding a separate {@link Highlighter.Highlight} for each range all ranges are kept in sorted offset
+ * arrays and painted by a single highlight. Only the ranges intersecting the clip are painted. Adjacent ranges on
+ * the same line are merged and everything is filled at once.
+ * <p>
+ * Overlapping ranges are merged when added. The ranges follow edits of the document. Ranges which intersect
+ * removed content are dropped.
+ */
+public class BulkHighlighter {
+
+    private static final Logger LOGGER = LogUtil.getLogger(BulkHighlighter.class);
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Handler handler = new Handler();
+    private final Highlighter.HighlightPainter painter = this::paint;
+    private JTextComponent textComponent;
+    private Object highlightTag;
+
+    private Paint paint;
+    private float alpha;
+    private AlphaComposite alphaComposite;
+
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public BulkHighlighter() {
+        this(null);
+    }
+
+    /**
+     * Creates a new bulk highlighter.
+     *
+     * @param paint the paint used for the highlights. If null the selection color of the text component is used.
+     */
+    public BulkHighlighter(final Paint paint) {
+        this(paint, 1.0f);
+    }
+
+    public BulkHighlighter(final Paint paint, final float alpha) {
+        this.paint = paint;
+        setAlpha(alpha);
+    }
+
+    /**
+     * Install the highlighter on the given text component. If the highlighter is already installed on another
+     * component it is uninstalled first.
+     *
+     * @param c the text component.
+     */
+    public void install(final JTextComponent c) {
+        if (textComponent == c) return;
+        uninstall();
+        textComponent = c;
+        c.addPropertyChangeListener(PropertyKey.DOCUMENT, handler);
+        c.addPropertyChangeListener("highlighter", handler);
+        c.getDocument().addDocumentListener(handler);
+        addHighlight();
+    }
+
+    /**
+     * Uninstall the highlighter from the current text component.
+     */
+    public void uninstall() {
+        if (textComponent == null) return;
+        removeHighlight();
+        textComponent.getDocument().removeDocumentListener(handler);
+        textComponent.removePropertyChangeListener(PropertyKey.DOCUMENT, handler);
+        textComponent.removePropertyChangeListener("highlighter", handler);
+        textComponent.repaint();
+        textComponent = null;
+    }
+
+    public JTextComponent getTextComponent() {
+        return textComponent;
+    }
+
+    public Paint getPaint() {
+        return paint;
+    }
+
+    public void setPaint(final Paint paint) {
+        this.paint = paint;
+        repaint();
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(final float alpha) {
+        this.alpha = Math.max(0.0f, Math.min(1.0f, alpha));
+        alphaComposite = null;
+        repaint();
+    }
+
+    /**
+     * Replace all highlights.
+     *
+     * @param highlightStarts the start offsets.
+     * @param highlightEnds the end offsets.
+     * @param count the number of ranges to use from the arrays.
+     */
+    public void setHighlights(final int[] highlightStarts, final int[] highlightEnds, final int count) {
+        size = 0;
+        addRanges(highlightStarts, highlightEnds, count);
+        repaint();
+    }
+
+    /**
+     * Add highlights. This can be used to add results of a search in chunks as they become available.
+     *
+     * @param highlightStarts the start offsets.
+     * @param highlightEnds the end offsets.
+     * @param count the number of ranges to use from the arrays.
+     */
+    public void addHighlights(final int[] highlightStarts, final int[] highlightEnds, final int count) {
+        if (count <= 0) return;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, highlightStarts[i]);
+            max = Math.max(max, highlightEnds[i]);
+        }
+        addRanges(highlightStarts, highlightEnds, count);
+        repaint(min, max);
+    }
+
+    public void addHighlight(final int start, final int end) {
+        addHighlights(new int[] {start}, new int[] {end}, 1);
+    }
+
+    public void removeAllHighlights() {
+        if (size == 0) return;
+        size = 0;
+        repaint();
+    }
+
+    public int getHighlightCount() {
+        return size;
+    }
+
+    public int getHighlightStart(final int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getHighlightEnd(final int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * Returns the index of the first highlight which ends after the given offset.
+     *
+     * @param offset the offset.
+     * @return the index of the highlight or {@link #getHighlightCount()} if there is none.
+     */
+    public int getHighlightIndex(final int offset) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void addRanges(final int[] highlightStarts, final int[] highlightEnds, final int count) {
+        ensureCapacity(size + count);
+        boolean sorted = true;
+        for (int i = 0; i < count; i++) {
+            int start = highlightStarts[i];
+            int end = highlightEnds[i];
+            if (start < 0 || end < start) {
+                throw new IllegalArgumentException("Invalid range [" + start + ", " + end + "]");
+            }
+            if (size > 0 && start < ends[size - 1]) sorted = false;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+        if (!sorted) normalize();
+    }
+
+    /*
+     * Sort the ranges by their start offset and merge overlapping ranges. This ensures both the start
+     * and end offsets are in ascending order.
+     */
+    private void normalize() {
+        long[] ranges = new long[size];
+        for (int i = 0; i < size; i++) {
+            ranges[i] = ((long) starts[i] << 32) | ends[i];
+        }
+        Arrays.sort(ranges);
+        int count = 0;
+        for (long range : ranges) {
+            int start = (int) (range >>> 32);
+            int end = (int) range;
+            if (count > 0 && start < ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], end);
+            } else {
+                starts[count] = start;
+                ends[count] = end;
+                count++;
+            }
+        }
+        size = count;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= starts.length) return;
+        int newCapacity = Math.max(capacity, starts.length + (starts.length >> 1));
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+    }
+
+    private void addHighlight() {
+        if (textComponent.getHighlighter() == null) return;
+        try {
+            highlightTag = textComponent.getHighlighter().addHighlight(0, 0, painter);
+        } catch (final BadLocationException e) {
+            LOGGER.log(Level.SEVERE, "Installing highlight failed", e);
+        }
+    }
+
+    private void removeHighlight() {
+        Highlighter highlighter = textComponent.getHighlighter();
+        if (highlightTag != null && highlighter != null) {
+            highlighter.removeHighlight(highlightTag);
+        }
+        highlightTag = null;
+    }
+
+    private void repaint() {
+        if (textComponent != null) textComponent.repaint();
+    }
+
+    private void repaint(final int startOffset, final int endOffset) {
+        if (textComponent == null) return;
+        try {
+            int length = textComponent.getDocument().getLength();
+            Rectangle start = textComponent.modelToView(Math.min(startOffset, length));
+            Rectangle end = textComponent.modelToView(Math.min(endOffset, length));
+            if (start == null || end == null) {
+                textComponent.repaint();
+                return;
+            }
+            int y = Math.min(start.y, end.y);
+            int height = Math.max(start.y + start.height, end.y + end.height) - y;
+            textComponent.repaint(0, y, textComponent.getWidth(), height);
+        } catch (final BadLocationException e) {
+            textComponent.repaint();
+        }
+    }
+
+    private void paint(final Graphics g, final int offs0, final int offs1, final Shape bounds,
+            final JTextComponent c) {
+        if (size == 0 || c != textComponent) return;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = c.getVisibleRect();
+        if (clip.isEmpty()) return;
+
+        Element root = c.getDocument().getDefaultRootElement();
+        int clipStart = c.viewToModel(new Point(clip.x, clip.y));
+        int clipEnd = c.viewToModel(new Point(clip.x + clip.width, clip.y + clip.height));
+        int startOffset = root.getElement(root.getElementIndex(clipStart)).getStartOffset();
+        int endOffset = root.getElement(root.getElementIndex(clipEnd)).getEndOffset();
+
+        Rectangle alloc = bounds.getBounds();
+        Path2D path = new Path2D.Float();
+        Rectangle pending = null;
+        try {
+            for (int i = getHighlightIndex(startOffset); i < size && starts[i] <= endOffset; i++) {
+                if (starts[i] == ends[i]) continue;
+                pending = appendHighlight(c, alloc, starts[i], ends[i], path, pending);
+            }
+        } catch (final BadLocationException e) {
+            LOGGER.log(Level.FINE, "Highlights are out of sync with the document", e);
+        }
+        if (pending != null) path.append(pending, false);
+
+        Graphics2D g2 = (Graphics2D) g;
+        GraphicsContext context = new GraphicsContext(g2);
+        if (alpha < 1.0f) {
+            if (alphaComposite == null) {
+                alphaComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha);
+            }
+            g2.setComposite(alphaComposite);
+        }
+        if (paint != null) {
+            g2.setPaint(paint);
+        } else {
+            g2.setColor(c.getSelectionColor());
+        }
+        g2.fill(path);
+        context.restore();
+    }
+
+    private Rectangle appendHighlight(final JTextComponent c, final Rectangle alloc, final int start, final int end,
+            final Path2D path, final Rectangle pending) throws BadLocationException {
+        Rectangle p0 = c.modelToView(start);
+        Rectangle p1 = c.getUI().modelToView(c, end, Position.Bias.Backward);
+        if (p0 == null || p1 == null) return pending;
+        if (p0.y == p1.y) {
+            return merge(path, pending, new Rectangle(p0.x, p0.y, p1.x - p0.x, p0.height));
+        }
+        int allocEnd = alloc.x + alloc.width;
+        Rectangle merged = merge(path, pending, new Rectangle(p0.x, p0.y, allocEnd - p0.x, p0.height));
+        int middleY = p0.y + p0.height;
+        if (middleY < p1.y) {
+            merged = merge(path, merged, new Rectangle(alloc.x, middleY, alloc.width, p1.y - middleY));
+        }
+        return merge(path, merged, new Rectangle(alloc.x, p1.y, p1.x - alloc.x, p1.height));
+    }
+
+    /*
+     * Merges the rectangle into the pending one if they are on the same line and touch. Otherwise the
+     * pending rectangle is appended to the path.
+     */
+    private Rectangle merge(final Path2D path, final Rectangle pending, final Rectangle r) {
+        if (r.width <= 0 || r.height <= 0) return pending;
+        if (pending != null) {
+            if (pending.y == r.y && pending.height == r.height && r.x <= pending.x + pending.width) {
+                pending.add(r);
+                return pending;
+            }
+            path.append(pending, false);
+        }
+        return r;
+    }
+
+    private class Handler implements DocumentListener, PropertyChangeListener {
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            int offset = e.getOffset();
+            int length = e.getLength();
+            for (int i = getHighlightIndex(offset - 1); i < size; i++) {
+                if (starts[i] >= offset) starts[i] += length;
+                if (ends[i] > offset || ends[i] < starts[i]) ends[i] += length;
+            }
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            int offset = e.getOffset();
+            int length = e.getLength();
+            int removedEnd = offset + length;
+            int count = getHighlightIndex(offset);
+            for (int i = count; i < size; i++) {
+                if (starts[i] < removedEnd && ends[i] > offset) continue;
+                starts[count] = starts[i] >= removedEnd ? starts[i] - length : starts[i];
+                ends[count] = ends[i] >= removedEnd ? ends[i] - length : ends[i];
+                count++;
+            }
+            size = count;
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {}
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            if (PropertyKey.DOCUMENT.equals(evt.getPropertyName())) {
+                if (evt.getOldValue() instanceof Document) {
+                    ((Document) evt.getOldValue()).removeDocumentListener(this);
+                }
+                if (evt.getNewValue() instanceof Document) {
+                    ((Document) evt.getNewValue()).addDocumentListener(this);
+                }
+                size = 0;
+            } else if ("highlighter".equals(evt.getPropertyName())) {
+                if (evt.getOldValue() instanceof Highlighter && highlightTag != null) {
+                    ((Highlighter) evt.getOldValue()).removeHighlight(highlightTag);
+                }
+                highlightTag = null;
+                if (evt.getNewValue() instanceof Highlighter) addHighlight();
+            }
+        }
+    }
+}
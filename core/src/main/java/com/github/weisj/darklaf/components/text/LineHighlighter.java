@@ -31,6 +31,7 @@ import javax.swing.text.BadLocationException;
 import javax.swing.text.Highlighter;
 import javax.swing.text.JTextComponent;
 
+import com.github.weisj.darklaf.ui.text.CaretGeometryCache;
 import com.github.weisj.darklaf.util.LogUtil;
 
 public class LineHighlighter implements Highlighter.HighlightPainter, ChangeListener {
@@ -63,7 +64,8 @@ public class LineHighlighter implements Highlighter.HighlightPainter, ChangeList
     @Override
     public void paint(final Graphics g, final int p0, final int p1, final Shape bounds, final JTextComponent c) {
         try {
-            Rectangle r = c.modelToView(c.getCaretPosition());
+            Rectangle r = CaretGeometryCache.getCaretBounds(c);
+            if (r == null) return;
             g.setColor(color);
             g.fillRect(0, r.y, c.getWidth(), r.height);
 
@@ -94,17 +96,20 @@ public class LineHighlighter implements Highlighter.HighlightPainter, ChangeList
         SwingUtilities.invokeLater(() -> {
             try {
                 if (component == null) return;
-                int offset = component.getCaretPosition();
-                Rectangle view = component.modelToView(offset);
-                if (view == null) return;
-                Rectangle currentView = view.getBounds();
+                Rectangle currentView = CaretGeometryCache.getCaretBounds(component);
+                if (currentView == null) return;
 
-                // Remove the highlighting from the previously highlighted line
-                if (lastView != null && lastView.y != currentView.y) {
-                    if (lastView.isEmpty()) {
+                // Remove the highlighting from the previously highlighted line and paint the new one.
+                if (lastView != null && (lastView.y != currentView.y || lastView.height != currentView.height)) {
+                    /*
+                     * Only the height of the caret bounds is meaningful. Their width is zero for most text
+                     * components.
+                     */
+                    if (lastView.height <= 0) {
                         component.repaint();
                     } else {
                         component.repaint(0, lastView.y, component.getWidth(), lastView.height);
+                        component.repaint(0, currentView.y, component.getWidth(), currentView.height);
                     }
                     lastView = currentView;
                 }
@@ -21,12 +21,17 @@
 package com.github.weisj.darklaf.components.text;
 
 import java.awt.Font;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.*;
 
+import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.StringUtil;
 
 public class NumberingPane extends JComponent {
@@ -35,13 +40,15 @@ public class NumberingPane extends JComponent {
     public static final String KEY_ICONS = "icons";
     public static final String KEY_MIN_ICON_WIDTH = "minimumIconWidth";
     private JTextComponent textComponent;
-    private final Map<Position, Icon> iconMap;
-    private final Map<Position, List<IconListener>> listenerMap;
+    private final PositionIndex<Icon> iconMap;
+    private final PositionIndex<List<IconListener>> listenerMap;
     private int width;
+    private final Handler handler = new Handler();
+    private Document document;
 
     public NumberingPane() {
-        iconMap = new HashMap<>();
-        listenerMap = new HashMap<>();
+        iconMap = new PositionIndex<>();
+        listenerMap = new PositionIndex<>();
         updateUI();
     }
 
@@ -70,19 +77,25 @@ public class NumberingPane extends JComponent {
 
     public void setTextComponent(final JTextComponent textComponent) {
         JTextComponent old = this.textComponent;
+        if (old != null) old.removePropertyChangeListener(PropertyKey.DOCUMENT, handler);
         this.textComponent = textComponent;
+        if (textComponent != null) textComponent.addPropertyChangeListener(PropertyKey.DOCUMENT, handler);
+        setDocument(textComponent != null ? textComponent.getDocument() : null);
         firePropertyChange(KEY_EDITOR, old, textComponent);
     }
 
+    private void setDocument(final Document doc) {
+        if (document != null) document.removeDocumentListener(handler);
+        document = doc;
+        if (document != null) document.addDocumentListener(handler);
+    }
+
     public int getIconCount() {
         return iconMap.size();
     }
 
     public List<Map.Entry<Position, Icon>> getIconsInRange(final int startOff, final int endOff) {
-        return iconMap.entrySet().stream().filter(e -> {
-            Position pos = e.getKey();
-            return pos.getOffset() >= startOff && pos.getOffset() <= endOff;
-        }).collect(Collectors.toList());
+        return iconMap.entriesInRange(startOff, endOff);
     }
 
     public Position addIconAtLine(final int lineIndex, final Icon icon) throws BadLocationException {
@@ -137,6 +150,7 @@ public class NumberingPane extends JComponent {
         List<IconListener> list = listenerMap.get(position);
         if (list != null) {
             list.remove(listener);
+            if (list.isEmpty()) listenerMap.remove(position);
         }
     }
 
@@ -151,10 +165,8 @@ public class NumberingPane extends JComponent {
     }
 
     public List<IconListener> getIconListeners(final int startOffset, final int endOffset) {
-        return listenerMap.entrySet().stream().filter(entry -> {
-            Position p = entry.getKey();
-            return p.getOffset() >= startOffset && p.getOffset() <= endOffset;
-        }).map(Map.Entry::getValue).flatMap(List::stream).collect(Collectors.toList());
+        return listenerMap.entriesInRange(startOffset, endOffset).stream()
+                .map(Map.Entry::getValue).flatMap(List::stream).collect(Collectors.toList());
     }
 
     public void addIndexListener(final IndexListener listener) {
@@ -195,4 +207,25 @@ public class NumberingPane extends JComponent {
     public IndexListener[] getIndexListeners() {
         return listenerList.getListeners(IndexListener.class);
     }
+
+    private class Handler implements DocumentListener, PropertyChangeListener {
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            // Undoing a removal may change the relative order of positions.
+            iconMap.invalidateOrder();
+            listenerMap.invalidateOrder();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {}
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {}
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            setDocument(textComponent.getDocument());
+        }
+    }
 }
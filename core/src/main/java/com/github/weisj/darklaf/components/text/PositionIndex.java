@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.util.*;
+
+import javax.swing.text.Position;
+
+/**
+ * Map from {@link Position}s to values which supports range queries by offset.
+ * <p>
+ * The positions are kept in a list sorted by their offset. Removing text only collapses positions onto the same
+ * offset, which keeps their order. Undoing a removal however restores the collapsed positions to their old
+ * offsets, which may move them past positions created at the collapse point in the meantime. Hence
+ * {@link #invalidateOrder()} has to be called whenever text is inserted. The order is then validated before the
+ * next lookup.
+ *
+ * @param <V> the value type.
+ */
+final class PositionIndex<V> {
+
+    private final Map<Position, V> values = new HashMap<>();
+    private final List<Position> positions = new ArrayList<>();
+    private boolean orderInvalid;
+
+    int size() {
+        return values.size();
+    }
+
+    boolean containsKey(final Position position) {
+        return values.containsKey(position);
+    }
+
+    V get(final Position position) {
+        return values.get(position);
+    }
+
+    Collection<V> values() {
+        return values.values();
+    }
+
+    /**
+     * Marks the order of the positions as possibly outdated.
+     */
+    void invalidateOrder() {
+        orderInvalid = true;
+    }
+
+    V put(final Position position, final V value) {
+        ensureSorted();
+        boolean present = values.containsKey(position);
+        V old = values.put(position, value);
+        if (!present) {
+            positions.add(lowerBound(position.getOffset() + 1), position);
+        }
+        return old;
+    }
+
+    V remove(final Position position) {
+        if (!values.containsKey(position)) return null;
+        ensureSorted();
+        V old = values.remove(position);
+        int index = indexOf(position);
+        if (index >= 0) positions.remove(index);
+        return old;
+    }
+
+    /**
+     * Returns all entries whose position lies within the given offsets.
+     *
+     * @param startOffset the start offset (inclusive).
+     * @param endOffset the end offset (inclusive).
+     * @return the entries ordered by their offset.
+     */
+    List<Map.Entry<Position, V>> entriesInRange(final int startOffset, final int endOffset) {
+        ensureSorted();
+        List<Map.Entry<Position, V>> entries = new ArrayList<>();
+        for (int i = lowerBound(startOffset); i < positions.size(); i++) {
+            Position pos = positions.get(i);
+            if (pos.getOffset() > endOffset) break;
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(pos, values.get(pos)));
+        }
+        return entries;
+    }
+
+    private int indexOf(final Position position) {
+        int offset = position.getOffset();
+        for (int i = lowerBound(offset); i < positions.size(); i++) {
+            Position pos = positions.get(i);
+            if (pos.equals(position)) return i;
+            if (pos.getOffset() > offset) break;
+        }
+        return -1;
+    }
+
+    private void ensureSorted() {
+        if (!orderInvalid) return;
+        orderInvalid = false;
+        int previous = Integer.MIN_VALUE;
+        for (Position pos : positions) {
+            int offset = pos.getOffset();
+            if (offset < previous) {
+                positions.sort(Comparator.comparingInt(Position::getOffset));
+                return;
+            }
+            previous = offset;
+        }
+    }
+
+    /*
+     * Index of the first position with an offset greater or equal to the given offset.
+     */
+    private int lowerBound(final int offset) {
+        int low = 0;
+        int high = positions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions.get(mid).getOffset() < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.Lambdas;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.StringUtil;
+
+/**
+ * History of search entries ordered by the time they were last added.
+ * <p>
+ * Entries are indexed by their case insensitive prefix which allows for fast retrieval of suggestions while
+ * typing. If a file is specified the history is persisted to it. Every added entry is appended to the file and
+ * the file is compacted once it contains considerably more lines than the history holds entries. Writing to the
+ * file happens in the background on the executor of the history in the order the changes were made.
+ */
+public class SearchHistory {
+
+    private static final Logger LOGGER = LogUtil.getLogger(SearchHistory.class);
+
+    private final Map<String, Long> entries = new HashMap<>();
+    private final TreeMap<Long, String> recency = new TreeMap<>();
+    private final TreeMap<String, List<String>> prefixIndex = new TreeMap<>();
+    private final Path file;
+    private final Executor executor;
+    private CompletableFuture<Void> pendingWrite = CompletableFuture.completedFuture(null);
+    private int capacity;
+    private long counter;
+    private int fileLineCount;
+
+    /**
+     * Creates an in memory history.
+     *
+     * @param capacity the maximum number of entries.
+     */
+    public SearchHistory(final int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a history which is persisted to the given file. Entries already present in the file are loaded.
+     *
+     * @param capacity the maximum number of entries.
+     * @param file the file to persist the history to. If null the history isn't persisted.
+     */
+    public SearchHistory(final int capacity, final Path file) {
+        this(capacity, file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a history which is persisted to the given file. Entries already present in the file are loaded.
+     *
+     * @param capacity the maximum number of entries.
+     * @param file the file to persist the history to. If null the history isn't persisted.
+     * @param executor the executor the file is written on.
+     */
+    public SearchHistory(final int capacity, final Path file, final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        setCapacity(capacity);
+        this.file = file;
+        load();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns a future which completes once all changes made so far have been written to the file.
+     *
+     * @return the future.
+     */
+    public CompletableFuture<Void> flush() {
+        return pendingWrite;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set the capacity of the history. If the size is larger than the capacity the oldest entries will be
+     * deleted.
+     *
+     * @param capacity the capacity.
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public void setCapacity(final int capacity) throws IllegalArgumentException {
+        if (capacity < 0) throw new IllegalArgumentException("Negative history size is not supported");
+        this.capacity = capacity;
+        trimToCapacity();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(final String entry) {
+        return entries.containsKey(entry);
+    }
+
+    /**
+     * Add an entry. If the entry is already present it becomes the most recent entry.
+     *
+     * @param entry the entry to add.
+     */
+    public void add(final String entry) {
+        if (capacity == 0) return;
+        put(Objects.requireNonNull(entry));
+        trimToCapacity();
+        append(entry);
+    }
+
+    /**
+     * Get all entries ordered from the oldest to the most recent one.
+     *
+     * @return the entries.
+     */
+    public List<String> getEntries() {
+        return new ArrayList<>(recency.values());
+    }
+
+    /**
+     * Get the most recent entries which start with the given prefix. The prefix is matched case insensitively.
+     *
+     * @param prefix the prefix.
+     * @param limit the maximum number of entries to return.
+     * @return the entries ordered from the most recent one to the oldest one.
+     */
+    public List<String> getEntriesWithPrefix(final String prefix, final int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        if (prefix == null || prefix.isEmpty()) {
+            List<String> result = new ArrayList<>(Math.min(limit, recency.size()));
+            for (String entry : recency.descendingMap().values()) {
+                if (result.size() >= limit) break;
+                result.add(entry);
+            }
+            return result;
+        }
+        String key = StringUtil.toLowerCase(prefix);
+        List<String> matches = new ArrayList<>();
+        for (List<String> indexed : prefixIndex.subMap(key, true, key + Character.MAX_VALUE, true).values()) {
+            matches.addAll(indexed);
+        }
+        matches.sort(Comparator.comparing((String s) -> entries.get(s)).reversed());
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        entries.clear();
+        recency.clear();
+        prefixIndex.clear();
+        if (file != null) writeAll();
+    }
+
+    private void put(final String entry) {
+        Long old = entries.put(entry, counter);
+        if (old != null) {
+            recency.remove(old);
+        } else {
+            prefixIndex.computeIfAbsent(StringUtil.toLowerCase(entry), k -> new ArrayList<>(1)).add(entry);
+        }
+        recency.put(counter, entry);
+        counter++;
+    }
+
+    private void trimToCapacity() {
+        while (entries.size() > capacity) {
+            Map.Entry<Long, String> eldest = recency.pollFirstEntry();
+            String entry = eldest.getValue();
+            entries.remove(entry);
+            String key = StringUtil.toLowerCase(entry);
+            List<String> indexed = prefixIndex.get(key);
+            indexed.remove(entry);
+            if (indexed.isEmpty()) prefixIndex.remove(key);
+        }
+    }
+
+    private void load() {
+        if (file == null || !Files.exists(file)) return;
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (!line.isEmpty()) put(unescape(line));
+            }
+            trimToCapacity();
+            fileLineCount = lines.size();
+            if (needsCompaction()) writeAll();
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Couldn't load search history from " + file, e);
+        }
+    }
+
+    private void append(final String entry) {
+        if (file == null) return;
+        if (needsCompaction()) {
+            writeAll();
+            return;
+        }
+        String line = escape(entry);
+        fileLineCount++;
+        write(() -> {
+            createParentDirectories();
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line);
+                writer.newLine();
+            }
+        });
+    }
+
+    private boolean needsCompaction() {
+        return fileLineCount >= 2 * Math.max(capacity, 16);
+    }
+
+    private void writeAll() {
+        List<String> lines = new ArrayList<>(recency.size());
+        for (String entry : recency.values()) {
+            lines.add(escape(entry));
+        }
+        fileLineCount = lines.size();
+        write(() -> {
+            createParentDirectories();
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        });
+    }
+
+    /*
+     * The content to write is captured by the caller. Writes are chained so they reach the file in the order
+     * they were issued.
+     */
+    private void write(final Lambdas.CheckedRunnable<IOException> fileWrite) {
+        pendingWrite = pendingWrite.thenRunAsync(() -> {
+            try {
+                fileWrite.run();
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Couldn't save search history to " + file, e);
+            }
+        }, executor);
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null && !Files.isDirectory(parent)) Files.createDirectories(parent);
+    }
+
+    private static String escape(final String entry) {
+        if (entry.indexOf('\\') < 0 && entry.indexOf('\n') < 0 && entry.indexOf('\r') < 0) return entry;
+        StringBuilder builder = new StringBuilder(entry.length() + 8);
+        for (int i = 0; i < entry.length(); i++) {
+            char c = entry.charAt(i);
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String unescape(final String line) {
+        if (line.indexOf('\\') < 0) return line;
+        StringBuilder builder = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                builder.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
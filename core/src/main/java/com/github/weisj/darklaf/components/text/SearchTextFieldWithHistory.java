@@ -58,8 +58,25 @@ public class SearchTextFieldWithHistory extends SearchTextField {
      * @throws IllegalArgumentException if <code>columns</code> &lt; 0
      */
     public SearchTextFieldWithHistory(final Document doc, final String text, final int columns) {
+        this(doc, text, columns, new SearchHistory(100));
+    }
+
+    /**
+     * Constructs a new <code>JTextField</code> that uses the given text storage model, the given
+     * number of columns and the given search history. The history may be persisted, see
+     * {@link SearchHistory#SearchHistory(int, java.nio.file.Path)}.
+     *
+     * @param doc the text storage to use; if this is <code>null</code>, a default will be provided by
+     *        calling the <code>createDefaultModel</code> method
+     * @param text the initial string to display, or <code>null</code>
+     * @param columns the number of columns to use to calculate the preferred width &gt;= 0
+     * @param searchHistory the history to use.
+     * @throws IllegalArgumentException if <code>columns</code> &lt; 0
+     */
+    public SearchTextFieldWithHistory(final Document doc, final String text, final int columns,
+            final SearchHistory searchHistory) {
         super(doc, text, columns);
-        history = new TextFieldHistoryPopup(this, 100, 800);
+        history = new TextFieldHistoryPopup(this, searchHistory, 800);
         putClientProperty(DarkTextFieldUI.KEY_FIND_POPUP, history);
     }
 
@@ -120,6 +137,15 @@ public class SearchTextFieldWithHistory extends SearchTextField {
         return history.getHistory();
     }
 
+    /**
+     * Get the underlying search history.
+     *
+     * @return the search history.
+     */
+    public SearchHistory getSearchHistory() {
+        return history.getSearchHistory();
+    }
+
     /** Clear all entries from the history. */
     public void clearHistory() {
         history.clearHistory();
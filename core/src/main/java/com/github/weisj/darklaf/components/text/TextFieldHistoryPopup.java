@@ -21,21 +21,24 @@
 package com.github.weisj.darklaf.components.text;
 
 import java.awt.*;
-import java.util.*;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.*;
 
-import com.github.weisj.darklaf.components.PlainAction;
 import com.github.weisj.darklaf.components.ScrollPopupMenu;
 import com.github.weisj.darklaf.util.StringUtil;
 
 /** @author Jannis Weis */
 public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchListener {
 
-    private final Set<String> history;
+    private static final int DEFAULT_DISPLAY_LIMIT = 100;
+
+    private final SearchHistory history;
     private final JTextField textField;
-    private int capacity;
+    private final List<JMenuItem> itemPool = new ArrayList<>();
+    private int displayLimit = DEFAULT_DISPLAY_LIMIT;
+    private boolean filterByText;
 
     /**
      * Create a search popup Menu.
@@ -45,16 +48,30 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
      * @param maxH maximum height.
      */
     public TextFieldHistoryPopup(final SearchTextField textField, final int capacity, final int maxH) {
+        this(textField, new SearchHistory(capacity), maxH);
+    }
+
+    /**
+     * Create a search popup Menu.
+     *
+     * @param textField the text field.
+     * @param history the history to use.
+     * @param maxH maximum height.
+     */
+    public TextFieldHistoryPopup(final SearchTextField textField, final SearchHistory history, final int maxH) {
         super(maxH);
         this.textField = textField;
+        this.history = history;
         textField.addSearchListener(this);
-        setCapacity(capacity);
-        this.history = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
-            @Override
-            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
-                return size() > capacity;
-            }
-        });
+    }
+
+    /**
+     * Get the underlying search history.
+     *
+     * @return the search history.
+     */
+    public SearchHistory getSearchHistory() {
+        return history;
     }
 
     /**
@@ -63,7 +80,7 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
      * @return the history.
      */
     public List<String> getHistory() {
-        return new ArrayList<>(history);
+        return history.getEntries();
     }
 
     /**
@@ -73,7 +90,7 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
      * @see #setCapacity(int) setCapacity()
      */
     public int getCapacity() {
-        return capacity;
+        return history.getCapacity();
     }
 
     /**
@@ -84,8 +101,7 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
      * @throws IllegalArgumentException if capacity is negative
      */
     public void setCapacity(final int capacity) throws IllegalArgumentException {
-        if (capacity < 0) throw new IllegalArgumentException("Negative history size is not supported");
-        this.capacity = capacity;
+        history.setCapacity(capacity);
     }
 
     /**
@@ -97,6 +113,42 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
         return history.size();
     }
 
+    /**
+     * Get the maximum number of entries shown in the popup.
+     *
+     * @return the maximum number of displayed entries.
+     */
+    public int getDisplayLimit() {
+        return displayLimit;
+    }
+
+    /**
+     * Set the maximum number of entries shown in the popup. Only the most recent entries are shown.
+     *
+     * @param displayLimit the maximum number of displayed entries.
+     */
+    public void setDisplayLimit(final int displayLimit) {
+        this.displayLimit = Math.max(displayLimit, 0);
+    }
+
+    /**
+     * Returns whether only entries starting with the current text of the text field are shown.
+     *
+     * @return true if entries are filtered.
+     */
+    public boolean isFilterByText() {
+        return filterByText;
+    }
+
+    /**
+     * Set whether only entries starting with the current text of the text field should be shown.
+     *
+     * @param filterByText true if entries should be filtered.
+     */
+    public void setFilterByText(final boolean filterByText) {
+        this.filterByText = filterByText;
+    }
+
     @Override
     public void searchPerformed(final SearchEvent e) {
         String text = e.getText();
@@ -115,22 +167,36 @@ public class TextFieldHistoryPopup extends ScrollPopupMenu implements SearchList
      * @see #getCapacity() getCapacity
      */
     public void addEntry(final String entry) {
-        history.remove(entry);
         history.add(entry);
     }
 
     @Override
     public void show(final Component invoker, final int x, final int y) {
-        if (history.size() == 0) return;
+        String prefix = filterByText ? textField.getText() : null;
+        List<String> entries = history.getEntriesWithPrefix(prefix, displayLimit);
+        if (entries.isEmpty()) return;
         this.removeAll();
-        List<String> list = new ArrayList<>(history);
-        for (int i = list.size() - 1; i >= 0; i--) {
-            String item = list.get(i);
-            add(new JMenuItem(new PlainAction(item, () -> textField.setText(item))));
+        for (int i = 0; i < entries.size(); i++) {
+            JMenuItem item = getMenuItem(i);
+            item.setText(entries.get(i));
+            item.setArmed(false);
+            add(item);
         }
         super.show(invoker, x, y);
     }
 
+    /*
+     * Menu items are reused between invocations. Each item sets its current text on the text field.
+     */
+    private JMenuItem getMenuItem(final int index) {
+        while (itemPool.size() <= index) {
+            JMenuItem item = new JMenuItem();
+            item.addActionListener(e -> textField.setText(item.getText()));
+            itemPool.add(item);
+        }
+        return itemPool.get(index);
+    }
+
     /** Clear all entries from the history. */
     public void clearHistory() {
         history.clear();
@@ -0,0 +1,347 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.EventListenerList;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyKey;
+import com.github.weisj.darklaf.util.StringUtil;
+
+/**
+ * Searches the content of a text component in the background and highlights all matches using a
+ * {@link BulkHighlighter}.
+ * <p>
+ * Each search operates on a snapshot of the document taken on the event dispatch thread. Matches are
+ * reported in chunks as they are found. Starting a new search, editing the document or calling
+ * {@link #cancel()} discards the results of any search still running. If the document is edited the current
+ * query is searched again after a short delay.
+ * <p>
+ * The engine can be attached to a {@link SearchTextField} in which case the text of the field is searched as
+ * the user types. Listeners registered through {@link #addChangeListener(ChangeListener)} are notified on the
+ * event dispatch thread whenever the match count or the searching state changes.
+ */
+public class TextSearchEngine {
+
+    private static final Logger LOGGER = LogUtil.getLogger(TextSearchEngine.class);
+    private static final int CHUNK_SIZE = 1024;
+    private static final int CHECK_INTERVAL = 1 << 16;
+    private static final int RESEARCH_DELAY = 250;
+
+    private final JTextComponent textComponent;
+    private final BulkHighlighter highlighter;
+    private final EventListenerList listenerList = new EventListenerList();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Handler handler = new Handler();
+    private final Timer researchTimer;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private SearchTextField searchField;
+    private String query = "";
+    private boolean caseSensitive;
+    private int matchCount;
+    private boolean searching;
+
+    public TextSearchEngine(final JTextComponent textComponent) {
+        this(textComponent, new BulkHighlighter());
+    }
+
+    public TextSearchEngine(final JTextComponent textComponent, final BulkHighlighter highlighter) {
+        this.textComponent = Objects.requireNonNull(textComponent);
+        this.highlighter = Objects.requireNonNull(highlighter);
+        researchTimer = new Timer(RESEARCH_DELAY, e -> search(query));
+        researchTimer.setRepeats(false);
+        highlighter.install(textComponent);
+        textComponent.getDocument().addDocumentListener(handler);
+        textComponent.addPropertyChangeListener(PropertyKey.DOCUMENT, handler);
+    }
+
+    /**
+     * Sets the executor the searches are run on. By default the common pool is used.
+     *
+     * @param executor the executor.
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    public JTextComponent getTextComponent() {
+        return textComponent;
+    }
+
+    public BulkHighlighter getHighlighter() {
+        return highlighter;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    public void setCaseSensitive(final boolean caseSensitive) {
+        if (this.caseSensitive == caseSensitive) return;
+        this.caseSensitive = caseSensitive;
+        search(query);
+    }
+
+    /**
+     * Returns the number of matches found so far by the current search.
+     *
+     * @return the number of matches.
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Returns whether the current search is still running.
+     *
+     * @return true if the search hasn't finished yet.
+     */
+    public boolean isSearching() {
+        return searching;
+    }
+
+    /**
+     * Search for all occurrences of the given text. Any search still running is cancelled.
+     *
+     * @param text the text to search for.
+     */
+    public void search(final String text) {
+        researchTimer.stop();
+        int searchGeneration = generation.incrementAndGet();
+        query = text != null ? text : "";
+        highlighter.removeAllHighlights();
+        matchCount = 0;
+        if (query.isEmpty()) {
+            setSearching(false);
+            return;
+        }
+        String content = getSnapshot(textComponent.getDocument());
+        String pattern = query;
+        boolean ignoreCase = !caseSensitive;
+        setSearching(true);
+        CompletableFuture.runAsync(() -> findMatches(content, pattern, ignoreCase, searchGeneration), executor)
+                .whenComplete((result, error) -> {
+                    if (error != null) LOGGER.log(Level.SEVERE, "Searching failed", error);
+                    SwingUtilities.invokeLater(() -> {
+                        if (isCurrent(searchGeneration)) setSearching(false);
+                    });
+                });
+    }
+
+    /**
+     * Cancels the current search. Matches which have already been found stay highlighted.
+     */
+    public void cancel() {
+        researchTimer.stop();
+        generation.incrementAndGet();
+        setSearching(false);
+    }
+
+    /**
+     * Searches the text of the given field as it is edited. Only one field can be attached at a time.
+     *
+     * @param field the search field or null to detach the current field.
+     */
+    public void setSearchField(final SearchTextField field) {
+        if (searchField != null) {
+            searchField.getDocument().removeDocumentListener(handler);
+            searchField.removePropertyChangeListener(PropertyKey.DOCUMENT, handler);
+        }
+        searchField = field;
+        if (searchField != null) {
+            searchField.getDocument().addDocumentListener(handler);
+            searchField.addPropertyChangeListener(PropertyKey.DOCUMENT, handler);
+            search(searchField.getText());
+        }
+    }
+
+    public SearchTextField getSearchField() {
+        return searchField;
+    }
+
+    /**
+     * Cancels any running search and removes the highlights and listeners from the text component and search
+     * field.
+     */
+    public void dispose() {
+        cancel();
+        setSearchField(null);
+        textComponent.getDocument().removeDocumentListener(handler);
+        textComponent.removePropertyChangeListener(PropertyKey.DOCUMENT, handler);
+        highlighter.uninstall();
+    }
+
+    public void addChangeListener(final ChangeListener listener) {
+        listenerList.add(ChangeListener.class, listener);
+    }
+
+    public void removeChangeListener(final ChangeListener listener) {
+        listenerList.remove(ChangeListener.class, listener);
+    }
+
+    private boolean isCurrent(final int searchGeneration) {
+        return generation.get() == searchGeneration;
+    }
+
+    private void setSearching(final boolean searching) {
+        this.searching = searching;
+        fireStateChanged();
+    }
+
+    private void fireStateChanged() {
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener listener : listenerList.getListeners(ChangeListener.class)) {
+            listener.stateChanged(event);
+        }
+    }
+
+    private String getSnapshot(final Document doc) {
+        String[] content = new String[] {""};
+        doc.render(() -> {
+            try {
+                content[0] = doc.getText(0, doc.getLength());
+            } catch (final BadLocationException e) {
+                LOGGER.log(Level.SEVERE, "Couldn't read document", e);
+            }
+        });
+        return content[0];
+    }
+
+    private void findMatches(final String content, final String pattern, final boolean ignoreCase,
+            final int searchGeneration) {
+        String target = ignoreCase ? StringUtil.toLowerCase(pattern) : pattern;
+        int[] starts = new int[CHUNK_SIZE];
+        int[] ends = new int[CHUNK_SIZE];
+        int count = 0;
+        int last = content.length() - target.length();
+        int nextCheck = 0;
+        for (int index = 0; index <= last; index++) {
+            if (index >= nextCheck) {
+                /*
+                 * Long texts without matches would otherwise be scanned to the end after the search has
+                 * already been discarded.
+                 */
+                if (!isCurrent(searchGeneration)) return;
+                nextCheck = index + CHECK_INTERVAL;
+            }
+            if (!matchesAt(content, index, target, ignoreCase)) continue;
+            starts[count] = index;
+            ends[count] = index + target.length();
+            count++;
+            if (count == CHUNK_SIZE) {
+                publish(starts, ends, count, searchGeneration);
+                starts = new int[CHUNK_SIZE];
+                ends = new int[CHUNK_SIZE];
+                count = 0;
+            }
+            index += target.length() - 1;
+        }
+        if (count > 0) publish(starts, ends, count, searchGeneration);
+    }
+
+    /*
+     * Compares character by character instead of lower casing the whole content, so offsets correspond to
+     * offsets in the document and no copy of the content is needed.
+     */
+    private static boolean matchesAt(final String content, final int offset, final String target,
+            final boolean ignoreCase) {
+        for (int i = 0; i < target.length(); i++) {
+            char c = content.charAt(offset + i);
+            if (ignoreCase) c = StringUtil.toLowerCase(c);
+            if (c != target.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void publish(final int[] starts, final int[] ends, final int count, final int searchGeneration) {
+        SwingUtilities.invokeLater(() -> {
+            if (!isCurrent(searchGeneration)) return;
+            highlighter.addHighlights(starts, ends, count);
+            matchCount += count;
+            fireStateChanged();
+        });
+    }
+
+    private class Handler implements DocumentListener, PropertyChangeListener {
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            documentChanged(e.getDocument());
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            documentChanged(e.getDocument());
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {}
+
+        private void documentChanged(final Document doc) {
+            if (searchField != null && doc == searchField.getDocument()) {
+                search(searchField.getText());
+            } else if (!query.isEmpty()) {
+                // Matches which were already added are kept in sync by the highlighter.
+                generation.incrementAndGet();
+                setSearching(true);
+                researchTimer.restart();
+            }
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            if (evt.getOldValue() instanceof Document) {
+                ((Document) evt.getOldValue()).removeDocumentListener(this);
+            }
+            if (evt.getNewValue() instanceof Document) {
+                ((Document) evt.getNewValue()).addDocumentListener(this);
+            }
+            if (evt.getSource() == searchField) {
+                search(searchField.getText());
+            } else {
+                search(query);
+            }
+        }
+    }
+}
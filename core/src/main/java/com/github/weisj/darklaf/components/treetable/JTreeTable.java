@@ -23,6 +23,7 @@ package com.github.weisj.darklaf.components.treetable;
 import java.awt.*;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import javax.swing.*;
@@ -31,6 +32,7 @@ import javax.swing.event.TreeSelectionListener;
 
 import com.github.weisj.darklaf.components.treetable.model.AbstractTreeTableModel;
 import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableSelectionModel;
+import com.github.weisj.darklaf.components.treetable.model.LazyTreeTableModel;
 import com.github.weisj.darklaf.components.treetable.model.TreeTableModel;
 import com.github.weisj.darklaf.ui.cell.hint.CellHintPopupListener;
 import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
@@ -40,6 +42,7 @@ import com.github.weisj.darklaf.util.PropertyUtil;
 public class JTreeTable extends JTable implements TreeSelectionListener {
 
     private final TreeTableTree tree;
+    private final LazyChildLoader lazyChildLoader;
 
     public JTreeTable(final AbstractTreeTableModel treeTableModel) {
         Logger.getGlobal().warning("JTreeTable is unstable and an experimental component");
@@ -56,8 +59,26 @@ public class JTreeTable extends JTable implements TreeSelectionListener {
         tree.addTreeSelectionListener(this);
 
         setDefaultRenderer(TreeTableModel.class, treeCellRenderer);
-        super.setModel(new TreeTableModelAdapter(treeTableModel, tree));
+        TreeTableModelAdapter adapter = new TreeTableModelAdapter(treeTableModel, tree);
+        super.setModel(adapter);
         setShowHorizontalLines(false);
+
+        if (treeTableModel instanceof LazyTreeTableModel) {
+            lazyChildLoader = new LazyChildLoader(tree, (LazyTreeTableModel) treeTableModel, adapter);
+            tree.addTreeWillExpandListener(lazyChildLoader);
+        } else {
+            lazyChildLoader = null;
+        }
+    }
+
+    /**
+     * Sets the executor used to load the children of a {@link LazyTreeTableModel}. By default the
+     * common fork join pool is used.
+     *
+     * @param executor the executor.
+     */
+    public void setLazyLoadingExecutor(final Executor executor) {
+        if (lazyChildLoader != null) lazyChildLoader.setExecutor(executor);
     }
 
     @Override
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.TreePath;
+
+import com.github.weisj.darklaf.components.treetable.model.LazyTreeTableModel;
+
+/**
+ * Loads the children of nodes of a {@link LazyTreeTableModel} in the background once they are
+ * expanded. The expansion itself happens immediately showing the placeholder children provided by
+ * the model.
+ */
+class LazyChildLoader implements TreeWillExpandListener {
+
+    private final JTree tree;
+    private final LazyTreeTableModel model;
+    private final TreeTableModelAdapter adapter;
+    private final Set<Object> pending = new HashSet<>();
+    private Executor executor = ForkJoinPool.commonPool();
+
+    LazyChildLoader(final JTree tree, final LazyTreeTableModel model, final TreeTableModelAdapter adapter) {
+        this.tree = tree;
+        this.model = model;
+        this.adapter = adapter;
+    }
+
+    void setExecutor(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void treeWillExpand(final TreeExpansionEvent event) {
+        TreePath path = event.getPath();
+        Object node = path.getLastPathComponent();
+        if (model.isLoaded(node) || !pending.add(node)) return;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return model.loadChildren(node);
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor).whenComplete((children, error) -> SwingUtilities.invokeLater(() -> {
+            pending.remove(node);
+            if (error != null) {
+                model.loadingFailed(node, error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                install(path, children != null ? children : Collections.emptyList());
+            }
+        }));
+    }
+
+    private void install(final TreePath path, final List<?> children) {
+        int row = tree.getRowForPath(path);
+        boolean visible = row >= 0 && tree.isExpanded(path);
+        int oldRowCount = tree.getRowCount();
+        TreePath[] selection = tree.getSelectionPaths();
+
+        int changeCount = adapter.getChangeCount();
+        model.setChildren(path.getLastPathComponent(), children);
+        // Children of collapsed nodes don't occupy any rows.
+        if (!visible) return;
+        /*
+         * If no children were loaded the node became a leaf, which the tree may collapse. In this case the
+         * adapter has possibly already notified the table.
+         */
+        if (adapter.getChangeCount() == changeCount) {
+            adapter.fireChildrenReplaced(row, tree.getRowCount() - oldRowCount);
+        }
+        if (selection != null) tree.setSelectionPaths(selection);
+    }
+
+    @Override
+    public void treeWillCollapse(final TreeExpansionEvent event) {}
+}
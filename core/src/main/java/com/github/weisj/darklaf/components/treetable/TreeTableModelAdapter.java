@@ -20,11 +20,17 @@
  */
 package com.github.weisj.darklaf.components.treetable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.swing.*;
+import javax.swing.event.TableModelEvent;
 import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.table.AbstractTableModel;
-import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 
 import com.github.weisj.darklaf.components.treetable.model.TreeTableModel;
@@ -33,6 +39,14 @@ public class TreeTableModelAdapter extends AbstractTableModel {
 
     private final JTree tree;
     private final TreeTableModel treeTableModel;
+    /*
+     * Snapshot of the visible paths indexed by row. Updated incrementally on expansion and collapse
+     * and rebuilt lazily after structural changes of the model.
+     */
+    private TreePath[] rowPaths = new TreePath[0];
+    private int rowPathCount;
+    private boolean rowPathsValid;
+    private int changeCount;
 
     public TreeTableModelAdapter(final TreeTableModel treeTableModel, final JTree tree) {
         this.tree = tree;
@@ -42,23 +56,160 @@ public class TreeTableModelAdapter extends AbstractTableModel {
             @Override
             public void treeExpanded(final TreeExpansionEvent event) {
                 TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
+                int start = getFirstChildRow(path);
+                if (start < 0) return;
+                List<TreePath> inserted = new ArrayList<>();
+                collectVisibleDescendants(path, inserted);
+                insertRowPaths(start, inserted);
+                if (inserted.isEmpty()) return;
                 int selection = tree.getLeadSelectionRow();
-                fireTableRowsInserted(start, start + length);
+                fireTableRowsInserted(start, start + inserted.size() - 1);
                 tree.setSelectionRow(selection);
             }
 
             @Override
             public void treeCollapsed(final TreeExpansionEvent event) {
                 TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
+                int start = getFirstChildRow(path);
+                if (start < 0) return;
+                if (!rowPathsValid) {
+                    // The previously visible rows are unknown.
+                    TreePath[] selection = tree.getSelectionPaths();
+                    fireTableDataChanged();
+                    tree.setSelectionPaths(selection);
+                    return;
+                }
+                int length = removeDescendantRowPaths(path, start);
+                if (length == 0) return;
                 int selection = tree.getLeadSelectionRow();
-                fireTableRowsDeleted(start, start + length);
+                fireTableRowsDeleted(start, start + length - 1);
                 tree.setSelectionRow(selection);
             }
         });
+        treeTableModel.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(final TreeModelEvent e) {}
+
+            @Override
+            public void treeNodesInserted(final TreeModelEvent e) {
+                invalidateRowPaths();
+            }
+
+            @Override
+            public void treeNodesRemoved(final TreeModelEvent e) {
+                invalidateRowPaths();
+            }
+
+            @Override
+            public void treeStructureChanged(final TreeModelEvent e) {
+                invalidateRowPaths();
+            }
+        });
+    }
+
+    /**
+     * Returns the row of the first child of the path or -1 if the children of the path aren't
+     * visible.
+     */
+    private int getFirstChildRow(final TreePath path) {
+        if (path.getParentPath() == null && !tree.isRootVisible()) return 0;
+        int row = tree.getRowForPath(path);
+        return row >= 0 ? row + 1 : -1;
+    }
+
+    private void collectVisibleDescendants(final TreePath path, final List<TreePath> paths) {
+        Object node = path.getLastPathComponent();
+        int childCount = treeTableModel.getChildCount(node);
+        for (int i = 0; i < childCount; i++) {
+            TreePath childPath = path.pathByAddingChild(treeTableModel.getChild(node, i));
+            paths.add(childPath);
+            if (tree.isExpanded(childPath)) {
+                collectVisibleDescendants(childPath, paths);
+            }
+        }
+    }
+
+    private void insertRowPaths(final int start, final List<TreePath> paths) {
+        if (!rowPathsValid) return;
+        int count = paths.size();
+        if (start > rowPathCount) {
+            rowPathsValid = false;
+            return;
+        }
+        if (rowPathCount + count > rowPaths.length) {
+            rowPaths = Arrays.copyOf(rowPaths, Math.max(rowPathCount + count, 2 * rowPaths.length));
+        }
+        System.arraycopy(rowPaths, start, rowPaths, start + count, rowPathCount - start);
+        for (int i = 0; i < count; i++) {
+            rowPaths[start + i] = paths.get(i);
+        }
+        rowPathCount += count;
+    }
+
+    private int removeDescendantRowPaths(final TreePath path, final int start) {
+        int end = start;
+        while (end < rowPathCount && path.isDescendant(rowPaths[end])) {
+            end++;
+        }
+        int count = end - start;
+        if (count > 0) {
+            System.arraycopy(rowPaths, end, rowPaths, start, rowPathCount - end);
+            Arrays.fill(rowPaths, rowPathCount - count, rowPathCount, null);
+            rowPathCount -= count;
+        }
+        return count;
+    }
+
+    private void invalidateRowPaths() {
+        rowPathsValid = false;
+    }
+
+    private void ensureRowPaths() {
+        int rowCount = tree.getRowCount();
+        if (rowPathsValid && rowPathCount == rowCount) return;
+        if (rowPaths.length < rowCount || rowPaths.length > 2 * rowCount + 16) {
+            rowPaths = new TreePath[rowCount];
+        } else {
+            Arrays.fill(rowPaths, rowCount, rowPaths.length, null);
+        }
+        for (int i = 0; i < rowCount; i++) {
+            rowPaths[i] = tree.getPathForRow(i);
+        }
+        rowPathCount = rowCount;
+        rowPathsValid = true;
+    }
+
+    /**
+     * Notifies the table that the single placeholder row below the given row has been replaced by the
+     * loaded children of the node.
+     *
+     * @param row the row of the parent node.
+     * @param rowDelta the change in the row count.
+     */
+    void fireChildrenReplaced(final int row, final int rowDelta) {
+        int first = row + 1;
+        if (rowDelta < 0) {
+            fireTableRowsDeleted(first, first - rowDelta - 1);
+        } else {
+            if (rowDelta > 0) fireTableRowsInserted(first + 1, first + rowDelta);
+            fireTableRowsUpdated(first, first);
+        }
+    }
+
+    @Override
+    public void fireTableChanged(final TableModelEvent e) {
+        changeCount++;
+        super.fireTableChanged(e);
+    }
+
+    /**
+     * Returns the number of events fired by this model. Used to determine whether a change to the tree
+     * has already been propagated to the table.
+     *
+     * @return the number of fired events.
+     */
+    int getChangeCount() {
+        return changeCount;
     }
 
     @Override
@@ -82,7 +233,8 @@ public class TreeTableModelAdapter extends AbstractTableModel {
     }
 
     protected Object nodeForRow(final int row) {
-        TreePath treePath = tree.getPathForRow(row);
+        ensureRowPaths();
+        TreePath treePath = row >= 0 && row < rowPathCount ? rowPaths[row] : tree.getPathForRow(row);
         return treePath.getLastPathComponent();
     }
 
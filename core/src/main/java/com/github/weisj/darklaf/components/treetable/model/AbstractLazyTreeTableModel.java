@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable.model;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+
+/**
+ * Base class for lazily loaded tree table models consisting of {@link DefaultTreeTableNode}s. Nodes
+ * whose children haven't been loaded yet report a single placeholder child.
+ */
+public abstract class AbstractLazyTreeTableModel extends DefaultTreeTableModel implements LazyTreeTableModel {
+
+    private final Set<Object> loadedNodes = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Map<Object, TreeTableNode> placeholders = new WeakHashMap<>();
+
+    public AbstractLazyTreeTableModel(final TreeTableNode root, final String[] headers) {
+        super(root, headers);
+    }
+
+    /**
+     * Returns whether the node may have children. Only consulted as long as the children of the node
+     * haven't been loaded.
+     *
+     * @param node the node.
+     * @return true if the node may have children.
+     */
+    protected abstract boolean mayHaveChildren(TreeTableNode node);
+
+    /**
+     * Returns the text displayed by the placeholder node while the children are loaded.
+     *
+     * @return the placeholder text.
+     */
+    protected Object getPlaceholderValue() {
+        Object value = UIManager.get("TreeTable.loadingText");
+        return value != null ? value : "Loading...";
+    }
+
+    public boolean isPlaceholder(final Object node) {
+        return node instanceof PlaceholderNode;
+    }
+
+    @Override
+    public boolean isLoaded(final Object node) {
+        return isPlaceholder(node) || loadedNodes.contains(node);
+    }
+
+    @Override
+    public boolean isLeaf(final Object node) {
+        if (isPlaceholder(node)) return true;
+        if (!isLoaded(node)) {
+            TreeTableNode treeTableNode = DarkUIUtil.nullableCast(TreeTableNode.class, node);
+            return treeTableNode == null || !mayHaveChildren(treeTableNode);
+        }
+        return super.isLeaf(node);
+    }
+
+    @Override
+    public int getChildCount(final Object parent) {
+        if (isLoaded(parent)) return super.getChildCount(parent);
+        return isLeaf(parent) ? 0 : 1;
+    }
+
+    @Override
+    public Object getChild(final Object parent, final int index) {
+        if (isLoaded(parent)) return super.getChild(parent, index);
+        if (index != 0 || isLeaf(parent)) return null;
+        return placeholders.computeIfAbsent(parent,
+                p -> new PlaceholderNode((TreeTableNode) p, getColumnCount(), getPlaceholderValue()));
+    }
+
+    @Override
+    public int getIndexOfChild(final Object parent, final Object child) {
+        if (isPlaceholder(child)) return 0;
+        TreeTableNode treeTableNode = DarkUIUtil.nullableCast(TreeTableNode.class, parent);
+        if (treeTableNode == null || !(child instanceof TreeTableNode)) return -1;
+        return treeTableNode.getIndex((TreeTableNode) child);
+    }
+
+    @Override
+    public Object getValueAt(final Object node, final int column) {
+        if (isPlaceholder(node)) return column == 0 ? getPlaceholderValue() : null;
+        return super.getValueAt(node, column);
+    }
+
+    @Override
+    public boolean isCellEditable(final Object node, final int column) {
+        return !isPlaceholder(node) && super.isCellEditable(node, column);
+    }
+
+    @Override
+    public void setValueAt(final Object aValue, final Object node, final int column) {
+        if (!isPlaceholder(node)) super.setValueAt(aValue, node, column);
+    }
+
+    @Override
+    public void setChildren(final Object node, final List<?> children) {
+        DefaultTreeTableNode parent = DarkUIUtil.nullableCast(DefaultTreeTableNode.class, node);
+        if (parent == null) return;
+        parent.getChildren().clear();
+        for (Object child : children) {
+            parent.addChild((TreeTableNode) child);
+        }
+        loadedNodes.add(parent);
+        placeholders.remove(parent);
+        fireTreeStructureChanged(this, getPathToRoot(parent), null, null);
+    }
+
+    /**
+     * Discards the loaded children of the node. They will be loaded again once the node is expanded.
+     *
+     * @param node the node.
+     */
+    public void unload(final TreeTableNode node) {
+        if (loadedNodes.remove(node)) {
+            if (node instanceof DefaultTreeTableNode) {
+                ((DefaultTreeTableNode) node).getChildren().clear();
+            }
+            fireTreeStructureChanged(this, getPathToRoot(node), null, null);
+        }
+    }
+
+    protected Object[] getPathToRoot(final TreeTableNode node) {
+        Deque<Object> path = new ArrayDeque<>();
+        for (TreeTableNode n = node; n != null; n = n.getParent()) {
+            path.addFirst(n);
+        }
+        return path.toArray();
+    }
+
+    private static final class PlaceholderNode extends DefaultTreeTableNode {
+
+        private PlaceholderNode(final TreeTableNode parent, final int columnCount, final Object value) {
+            super(parent, new Object[Math.max(1, columnCount)]);
+            getColumns().set(0, value);
+        }
+
+        @Override
+        public boolean getAllowsChildren() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(getTreeValue());
+        }
+    }
+}
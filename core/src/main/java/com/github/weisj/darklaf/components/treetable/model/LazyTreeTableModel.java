@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable.model;
+
+import java.util.List;
+
+/**
+ * A {@link TreeTableModel} which loads the children of its nodes on demand. Until the children of a
+ * node are loaded the model should report placeholder children for it.
+ *
+ * <p>The children of a node are loaded in the background when the node is expanded inside a
+ * {@link com.github.weisj.darklaf.components.treetable.JTreeTable}.
+ */
+public interface LazyTreeTableModel extends TreeTableModel {
+
+    /**
+     * Returns whether the children of the node have been loaded.
+     *
+     * @param node the node.
+     * @return true if the children are loaded.
+     */
+    boolean isLoaded(Object node);
+
+    /**
+     * Loads the children of the node. This method is invoked on a background thread and must not
+     * modify the model.
+     *
+     * @param node the node.
+     * @return the children of the node.
+     * @throws Exception if the children couldn't be loaded.
+     */
+    List<?> loadChildren(Object node) throws Exception;
+
+    /**
+     * Installs the loaded children of a node. This method is invoked on the event dispatch thread and
+     * has to notify the listeners of the model about the changed structure.
+     *
+     * @param node the node.
+     * @param children the loaded children.
+     */
+    void setChildren(Object node, List<?> children);
+
+    /**
+     * Invoked on the event dispatch thread if the children of a node couldn't be loaded.
+     *
+     * @param node the node.
+     * @param error the cause.
+     */
+    default void loadingFailed(final Object node, final Throwable error) {}
+}
@@ -0,0 +1,379 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.value.CleanupTask;
+
+/**
+ * Debug facility to measure how much time the darklaf ui delegates spend painting components.
+ * Profiling can be enabled by setting the system property {@link #PAINT_PROFILING_FLAG} to "true" or
+ * by calling {@link #setEnabled(boolean)}.
+ * <p>
+ * For each painted component the number of paints, the total and self time (i.e. excluding nested
+ * profiled paints like cell renderers) and, if supported by the jvm, the allocated bytes are
+ * recorded. The collected data can be visualized as a heat map using
+ * {@link #installOverlay(RootPaneContainer)} or exported using {@link #exportCsv(Writer)}.
+ */
+public final class PaintProfiler {
+
+    public static final String PAINT_PROFILING_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "paintProfiling";
+    private static final Logger LOGGER = LogUtil.getLogger(PaintProfiler.class);
+    private static final CleanupTask NO_OP = () -> {
+    };
+
+    private static volatile boolean enabled = PropertyUtil.getSystemFlag(PAINT_PROFILING_FLAG, false);
+    private static final Map<JComponent, PaintStatistics> statistics = new WeakHashMap<>();
+    private static final ThreadLocal<ArrayDeque<Measurement>> activeMeasurements =
+            ThreadLocal.withInitial(ArrayDeque::new);
+    private static final AllocationCounter allocationCounter = new AllocationCounter();
+
+    private PaintProfiler() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        PaintProfiler.enabled = enabled;
+    }
+
+    /**
+     * Starts measuring a paint operation of the given component. The returned task has to be closed
+     * after painting is done. If profiling is disabled this does nothing.
+     *
+     * @param c the component being painted.
+     * @return the task finishing the measurement.
+     */
+    public static CleanupTask begin(final JComponent c) {
+        if (!enabled) return NO_OP;
+        Measurement measurement = new Measurement(c);
+        activeMeasurements.get().push(measurement);
+        return measurement;
+    }
+
+    /**
+     * Returns a snapshot of the collected statistics.
+     *
+     * @return the statistics for each painted component.
+     */
+    public static Map<JComponent, PaintStatistics> getStatistics() {
+        synchronized (statistics) {
+            Map<JComponent, PaintStatistics> snapshot = new LinkedHashMap<>();
+            for (Map.Entry<JComponent, PaintStatistics> entry : statistics.entrySet()) {
+                snapshot.put(entry.getKey(), new PaintStatistics(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(snapshot);
+        }
+    }
+
+    public static void reset() {
+        synchronized (statistics) {
+            statistics.clear();
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far. This is independent of whether
+     * profiling is enabled.
+     *
+     * @return the allocated bytes or -1 if allocation tracking isn't supported by the jvm.
+     */
+    public static long getCurrentThreadAllocatedBytes() {
+        return allocationCounter.currentThreadAllocatedBytes();
+    }
+
+    /**
+     * Writes the collected statistics as comma separated values. Times are given in nanoseconds and a
+     * value of -1 for the allocated bytes indicates that allocation tracking isn't supported.
+     *
+     * @param writer the writer to export to.
+     * @throws IOException if writing fails.
+     */
+    public static void exportCsv(final Writer writer) throws IOException {
+        writer.write("component,uiClassID,paintCount,totalTimeNanos,selfTimeNanos,maxTimeNanos,allocatedBytes\n");
+        for (Map.Entry<JComponent, PaintStatistics> entry : getStatistics().entrySet()) {
+            JComponent c = entry.getKey();
+            PaintStatistics stats = entry.getValue();
+            writer.write(c.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(c)));
+            writer.write(',');
+            writer.write(stats.getUIClassID());
+            writer.write(',');
+            writer.write(String.valueOf(stats.getPaintCount()));
+            writer.write(',');
+            writer.write(String.valueOf(stats.getTotalTime()));
+            writer.write(',');
+            writer.write(String.valueOf(stats.getSelfTime()));
+            writer.write(',');
+            writer.write(String.valueOf(stats.getMaxTime()));
+            writer.write(',');
+            writer.write(String.valueOf(stats.getAllocatedBytes()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Installs an overlay on the layered pane of the given container, which shows the average self
+     * paint time of the profiled components as a heat map. Components which are more expensive to
+     * paint are highlighted more strongly.
+     *
+     * @param container the container to install the overlay on.
+     */
+    public static void installOverlay(final RootPaneContainer container) {
+        JLayeredPane layeredPane = container.getLayeredPane();
+        if (getOverlay(layeredPane) != null) return;
+        HeatMapOverlay overlay = new HeatMapOverlay(layeredPane);
+        layeredPane.add(overlay, JLayeredPane.DRAG_LAYER);
+        overlay.start();
+    }
+
+    public static void uninstallOverlay(final RootPaneContainer container) {
+        JLayeredPane layeredPane = container.getLayeredPane();
+        HeatMapOverlay overlay = getOverlay(layeredPane);
+        if (overlay == null) return;
+        overlay.stop();
+        layeredPane.remove(overlay);
+        layeredPane.repaint();
+    }
+
+    private static HeatMapOverlay getOverlay(final JLayeredPane layeredPane) {
+        for (Component c : layeredPane.getComponentsInLayer(JLayeredPane.DRAG_LAYER)) {
+            if (c instanceof HeatMapOverlay) return (HeatMapOverlay) c;
+        }
+        return null;
+    }
+
+    private static void record(final Measurement measurement, final long totalTime, final long selfTime,
+            final long allocatedBytes) {
+        synchronized (statistics) {
+            PaintStatistics stats = statistics.computeIfAbsent(measurement.component,
+                    c -> new PaintStatistics(c.getUIClassID()));
+            stats.add(totalTime, selfTime, allocatedBytes);
+        }
+    }
+
+    private static final class Measurement implements CleanupTask {
+        private final JComponent component;
+        private final long startTime;
+        private final long startAllocation;
+        private long childTime;
+        private long childAllocation;
+
+        private Measurement(final JComponent component) {
+            this.component = component;
+            this.startAllocation = allocationCounter.currentThreadAllocatedBytes();
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long totalTime = System.nanoTime() - startTime;
+            long allocation = startAllocation >= 0
+                    ? allocationCounter.currentThreadAllocatedBytes() - startAllocation
+                    : -1;
+            ArrayDeque<Measurement> stack = activeMeasurements.get();
+            stack.remove(this);
+            Measurement parent = stack.peek();
+            if (parent != null) {
+                parent.childTime += totalTime;
+                if (allocation >= 0) parent.childAllocation += allocation;
+            }
+            record(this, totalTime, totalTime - childTime, allocation >= 0 ? allocation - childAllocation : -1);
+        }
+    }
+
+    public static final class PaintStatistics {
+        private final String uiClassID;
+        private long paintCount;
+        private long totalTime;
+        private long selfTime;
+        private long maxTime;
+        private long allocatedBytes;
+
+        private PaintStatistics(final String uiClassID) {
+            this.uiClassID = uiClassID;
+        }
+
+        private PaintStatistics(final PaintStatistics other) {
+            this.uiClassID = other.uiClassID;
+            this.paintCount = other.paintCount;
+            this.totalTime = other.totalTime;
+            this.selfTime = other.selfTime;
+            this.maxTime = other.maxTime;
+            this.allocatedBytes = other.allocatedBytes;
+        }
+
+        private void add(final long total, final long self, final long allocated) {
+            paintCount++;
+            totalTime += total;
+            selfTime += self;
+            maxTime = Math.max(maxTime, total);
+            allocatedBytes = allocated >= 0 && allocatedBytes >= 0 ? allocatedBytes + allocated : -1;
+        }
+
+        public String getUIClassID() {
+            return uiClassID;
+        }
+
+        public long getPaintCount() {
+            return paintCount;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public long getSelfTime() {
+            return selfTime;
+        }
+
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        public long getAverageSelfTime() {
+            return paintCount > 0 ? selfTime / paintCount : 0;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    /*
+     * The per thread allocation counter is only available on HotSpot based jvms through
+     * com.sun.management.ThreadMXBean. It is accessed reflectively as the jdk.management module may
+     * not be present.
+     */
+    private static final class AllocationCounter {
+        private final ThreadMXBean threadMXBean;
+        private final Method allocatedBytesMethod;
+
+        private AllocationCounter() {
+            ThreadMXBean bean = null;
+            Method method = null;
+            try {
+                bean = ManagementFactory.getThreadMXBean();
+                Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+                if (beanClass.isInstance(bean)) {
+                    method = beanClass.getMethod("getThreadAllocatedBytes", long.class);
+                }
+            } catch (final Exception | LinkageError e) {
+                LOGGER.log(Level.FINE, "Allocation tracking isn't supported", e);
+            }
+            threadMXBean = bean;
+            allocatedBytesMethod = method;
+        }
+
+        private long currentThreadAllocatedBytes() {
+            if (allocatedBytesMethod == null) return -1;
+            try {
+                return (long) allocatedBytesMethod.invoke(threadMXBean, Thread.currentThread().getId());
+            } catch (final Exception e) {
+                return -1;
+            }
+        }
+    }
+
+    private static final class HeatMapOverlay extends JComponent {
+
+        private static final int REFRESH_INTERVAL = 500;
+        private final JLayeredPane layeredPane;
+        private final Timer refreshTimer;
+
+        private HeatMapOverlay(final JLayeredPane layeredPane) {
+            this.layeredPane = layeredPane;
+            this.refreshTimer = new Timer(REFRESH_INTERVAL, e -> repaint());
+            setOpaque(false);
+        }
+
+        private void start() {
+            setBounds(0, 0, layeredPane.getWidth(), layeredPane.getHeight());
+            refreshTimer.start();
+        }
+
+        private void stop() {
+            refreshTimer.stop();
+        }
+
+        @Override
+        public void updateUI() {}
+
+        @Override
+        public boolean contains(final int x, final int y) {
+            return false;
+        }
+
+        @Override
+        public void paint(final Graphics g) {
+            if (getWidth() != layeredPane.getWidth() || getHeight() != layeredPane.getHeight()) {
+                setBounds(0, 0, layeredPane.getWidth(), layeredPane.getHeight());
+            }
+            Map<JComponent, PaintStatistics> stats = getStatistics();
+            long maxAverage = 1;
+            for (Map.Entry<JComponent, PaintStatistics> entry : stats.entrySet()) {
+                if (isVisibleInOverlay(entry.getKey())) {
+                    maxAverage = Math.max(maxAverage, entry.getValue().getAverageSelfTime());
+                }
+            }
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                for (Map.Entry<JComponent, PaintStatistics> entry : stats.entrySet()) {
+                    JComponent c = entry.getKey();
+                    if (!isVisibleInOverlay(c)) continue;
+                    Rectangle r = SwingUtilities.convertRectangle(c.getParent(), c.getBounds(), this);
+                    float heat = entry.getValue().getAverageSelfTime() / (float) maxAverage;
+                    g2.setColor(new Color(1f, 0f, 0f, 0.1f + 0.5f * heat));
+                    g2.fillRect(r.x, r.y, r.width, r.height);
+                    g2.setColor(Color.RED);
+                    g2.drawRect(r.x, r.y, r.width - 1, r.height - 1);
+                }
+            } finally {
+                g2.dispose();
+            }
+        }
+
+        private boolean isVisibleInOverlay(final JComponent c) {
+            return c.isShowing() && c.getWidth() > 0 && c.getHeight() > 0
+                    && !(c.getParent() instanceof CellRendererPane)
+                    && SwingUtilities.isDescendingFrom(c, layeredPane);
+        }
+    }
+}
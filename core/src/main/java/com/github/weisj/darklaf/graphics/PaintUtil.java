@@ -27,6 +27,7 @@ import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 
 import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.cache.LRUCache;
 import com.github.weisj.darklaf.util.graphics.GraphicsContext;
 import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
 
@@ -45,6 +46,11 @@ public final class PaintUtil {
     private static Color warningGlow;
 
     private static final RoundRectangle2D roundRect = new RoundRectangle2D.Double();
+    /*
+     * Outline shapes only depend on the size of the component and the border parameters. They are
+     * never modified after creation, so they can be shared by all borders of the same size.
+     */
+    private static final LRUCache<OutlineKey, Shape> outlineShapeCache = new LRUCache<>(128);
 
     public static void setGlowOpacity(final float alpha) {
         glowComposite = glowComposite.derive(alpha);
@@ -117,22 +123,31 @@ public final class PaintUtil {
     private static void doPaint(final Graphics2D g, final float width, final float height, final float arc,
             final float bw, final boolean inside) {
         GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
+        g.fill(outlineShapeCache.computeIfAbsent(new OutlineKey(width, height, arc, bw, inside),
+                PaintUtil::createOutlineShape));
+        context.restore();
+    }
+
+    private static Shape createOutlineShape(final OutlineKey key) {
+        float width = key.width;
+        float height = key.height;
+        float arc = key.arc;
+        float bw = key.bw;
         Shape outerRect;
         Shape innerRect;
         if (Scale.equalWithError(arc, 0)) {
             outerRect = new Rectangle2D.Float(0, 0, width, height);
             innerRect = new Rectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw);
         } else {
-            float outerArc = inside ? arc : arc + bw;
-            float innerArc = inside ? arc - bw : arc;
+            float outerArc = key.inside ? arc : arc + bw;
+            float innerArc = key.inside ? arc - bw : arc;
             outerRect = new RoundRectangle2D.Float(0, 0, width, height, outerArc, outerArc);
             innerRect = new RoundRectangle2D.Float(bw, bw, width - 2 * bw, height - 2 * bw, innerArc, innerArc);
         }
         Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
         path.append(outerRect, false);
         path.append(innerRect, false);
-        g.fill(path);
-        context.restore();
+        return path;
     }
 
     public static void paintFocusBorder(final Graphics2D g, final int width, final int height, final float arc,
@@ -292,4 +307,79 @@ public final class PaintUtil {
         }
         g.fillRect(x1, y, x2 - x1 + 1, 1);
     }
+
+    /**
+     * Appends the area painted by {@link #drawVLine(Graphics, int, int, int)} to the given path. All lines
+     * appended to the same path can then be painted by a single fill of a path with
+     * {@link Path2D#WIND_NON_ZERO} winding rule.
+     *
+     * @param path the path to append to.
+     * @param x the x coordinate of the line.
+     * @param y1 the start y coordinate.
+     * @param y2 the end y coordinate.
+     */
+    public static void appendVLine(final Path2D path, final int x, final int y1, final int y2) {
+        appendRect(path, x, Math.min(y1, y2), 1, Math.abs(y2 - y1) + 1);
+    }
+
+    /**
+     * Appends the area painted by {@link #drawHLine(Graphics, int, int, int)} to the given path. All lines
+     * appended to the same path can then be painted by a single fill of a path with
+     * {@link Path2D#WIND_NON_ZERO} winding rule.
+     *
+     * @param path the path to append to.
+     * @param x1 the start x coordinate.
+     * @param x2 the end x coordinate.
+     * @param y the y coordinate of the line.
+     */
+    public static void appendHLine(final Path2D path, final int x1, final int x2, final int y) {
+        appendRect(path, Math.min(x1, x2), y, Math.abs(x2 - x1) + 1, 1);
+    }
+
+    private static void appendRect(final Path2D path, final int x, final int y, final int width, final int height) {
+        path.moveTo(x, y);
+        path.lineTo(x + width, y);
+        path.lineTo(x + width, y + height);
+        path.lineTo(x, y + height);
+        path.closePath();
+    }
+
+    private static final class OutlineKey {
+        private final float width;
+        private final float height;
+        private final float arc;
+        private final float bw;
+        private final boolean inside;
+
+        private OutlineKey(final float width, final float height, final float arc, final float bw,
+                final boolean inside) {
+            this.width = width;
+            this.height = height;
+            this.arc = arc;
+            this.bw = bw;
+            this.inside = inside;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OutlineKey)) return false;
+            OutlineKey that = (OutlineKey) o;
+            return Float.compare(that.width, width) == 0
+                    && Float.compare(that.height, height) == 0
+                    && Float.compare(that.arc, arc) == 0
+                    && Float.compare(that.bw, bw) == 0
+                    && inside == that.inside;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(width);
+            result = 31 * result + Float.floatToIntBits(height);
+            result = 31 * result + Float.floatToIntBits(arc);
+            result = 31 * result + Float.floatToIntBits(bw);
+            result = 31 * result + (inside ? 1 : 0);
+            return result;
+        }
+    }
 }
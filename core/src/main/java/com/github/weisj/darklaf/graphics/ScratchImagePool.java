@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.weisj.darklaf.util.ImageUtil;
+
+/**
+ * Pool of opaque offscreen images used for temporary painting operations e.g. buffered text
+ * painting. Images are bucketed by power of two sizes and the {@link GraphicsConfiguration} they are
+ * compatible with. Each thread has its own pool, hence images acquired on the event dispatch thread
+ * are never shared with other threads.
+ * <p>
+ * An acquired image is at least as large as the requested size, but may be larger. Only the
+ * requested region is cleared and should be used for painting. Every acquired image has to be
+ * returned using {@link #release(BufferedImage)} once it isn't needed anymore.
+ */
+public final class ScratchImagePool {
+
+    private static final int MIN_BUCKET_SIZE = 16;
+    private static final int MAX_IMAGES_PER_BUCKET = 2;
+    private static final long MAX_POOLED_PIXELS = 8L * 1024 * 1024;
+    private static final ThreadLocal<ScratchImagePool> POOL = ThreadLocal.withInitial(ScratchImagePool::new);
+
+    private final Map<BucketKey, ArrayDeque<BufferedImage>> buckets = new HashMap<>();
+    private final Map<BufferedImage, BucketKey> acquiredImages = new HashMap<>();
+    private long pooledPixels;
+
+    private ScratchImagePool() {}
+
+    /**
+     * Acquire an opaque image which is at least of the given size. The region {@code [0, width] x [0,
+     * height]} of the image is filled with the given color.
+     *
+     * @param gc the graphics configuration the image should be compatible with. May be null.
+     * @param width the minimum width of the image.
+     * @param height the minimum height of the image.
+     * @param clearColor the color to clear the requested region with.
+     * @return the image.
+     */
+    public static BufferedImage acquire(final GraphicsConfiguration gc, final int width, final int height,
+            final Color clearColor) {
+        return POOL.get().acquireImpl(gc, Math.max(1, width), Math.max(1, height), clearColor);
+    }
+
+    /**
+     * Return an image previously obtained by {@link #acquire(GraphicsConfiguration, int, int, Color)}
+     * back to the pool of the current thread.
+     *
+     * @param image the image to release.
+     */
+    public static void release(final BufferedImage image) {
+        if (image != null) POOL.get().releaseImpl(image);
+    }
+
+    /**
+     * Flush all pooled images of the current thread.
+     */
+    public static void clear() {
+        POOL.get().clearImpl();
+    }
+
+    private BufferedImage acquireImpl(final GraphicsConfiguration gc, final int width, final int height,
+            final Color clearColor) {
+        BucketKey key = new BucketKey(gc, bucketSize(width), bucketSize(height));
+        ArrayDeque<BufferedImage> bucket = buckets.get(key);
+        BufferedImage image = bucket != null ? bucket.pollFirst() : null;
+        if (image != null) {
+            pooledPixels -= key.pixelCount();
+        } else {
+            image = ImageUtil.createCompatibleImage(gc, key.width, key.height);
+        }
+        acquiredImages.put(image, key);
+        Graphics g = image.getGraphics();
+        try {
+            g.setColor(clearColor);
+            g.fillRect(0, 0, width, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private void releaseImpl(final BufferedImage image) {
+        BucketKey key = acquiredImages.remove(image);
+        if (key == null || pooledPixels + key.pixelCount() > MAX_POOLED_PIXELS) {
+            image.flush();
+            return;
+        }
+        ArrayDeque<BufferedImage> bucket = buckets.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (bucket.size() >= MAX_IMAGES_PER_BUCKET) {
+            image.flush();
+            return;
+        }
+        bucket.addFirst(image);
+        pooledPixels += key.pixelCount();
+    }
+
+    private void clearImpl() {
+        for (ArrayDeque<BufferedImage> bucket : buckets.values()) {
+            for (BufferedImage image : bucket) {
+                image.flush();
+            }
+        }
+        buckets.clear();
+        pooledPixels = 0;
+    }
+
+    private static int bucketSize(final int size) {
+        if (size <= MIN_BUCKET_SIZE) return MIN_BUCKET_SIZE;
+        int highest = Integer.highestOneBit(size);
+        return highest == size ? size : highest << 1;
+    }
+
+    private static final class BucketKey {
+        private final GraphicsConfiguration gc;
+        private final int width;
+        private final int height;
+
+        private BucketKey(final GraphicsConfiguration gc, final int width, final int height) {
+            this.gc = gc;
+            this.width = width;
+            this.height = height;
+        }
+
+        private long pixelCount() {
+            return (long) width * height;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey that = (BucketKey) o;
+            return width == that.width && height == that.height && Objects.equals(gc, that.gc);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gc, width, height);
+        }
+    }
+}
@@ -120,6 +120,8 @@ public final class StringPainter {
 
         Graphics2D drawingGraphics = (Graphics2D) g;
         BufferedImage img = null; // Only needed for translucent AA painting.
+        int imgWidth = 0;
+        int imgHeight = 0;
         Point textPos = null; // Only needed for experimental algorithm.
 
         Color fgColor = g.getColor();
@@ -135,52 +137,70 @@ public final class StringPainter {
         Component window = getNonOpaqueWindow(c);
         boolean paintOpaqueBuffered = window != null;
 
-        if (paintOpaqueBuffered) {
-            if (bgColor == null) {
-                bgColor = effectiveBackgroundColor(c);
-            }
-            LOGGER.finest(() -> "Using opaque buffering for " + c);
-            double scaleX = Scale.getScaleX((Graphics2D) g);
-            double scaleY = Scale.getScaleX((Graphics2D) g);
-
-            if (experimentalAntialiasingEnabled) {
-                textPos = new Point(x, y);
-                textPos.setLocation(SwingUtilities.convertPoint(c, textPos, window));
-                textPos.setLocation((int) Math.round(scaleX * textPos.x), (int) Math.round(scaleX * textPos.y));
-
-                /*
-                 * Ensure the background color has sufficient contrast to the foreground.
-                 */
-                Color fg = g.getColor();
-                double brightness = ColorUtil.getPerceivedBrightness(fg);
-                bgColor = brightness > 127 ? Color.BLACK : Color.WHITE;
-            }
+        BufferedImage pooledImage = null;
+        try {
+            if (paintOpaqueBuffered) {
+                if (bgColor == null) {
+                    bgColor = effectiveBackgroundColor(c);
+                }
+                LOGGER.finest(() -> "Using opaque buffering for " + c);
+                double scaleX = Scale.getScaleX((Graphics2D) g);
+                double scaleY = Scale.getScaleX((Graphics2D) g);
+
+                if (experimentalAntialiasingEnabled) {
+                    textPos = new Point(x, y);
+                    textPos.setLocation(SwingUtilities.convertPoint(c, textPos, window));
+                    textPos.setLocation((int) Math.round(scaleX * textPos.x), (int) Math.round(scaleX * textPos.y));
+
+                    /*
+                     * Ensure the background color has sufficient contrast to the foreground.
+                     */
+                    Color fg = g.getColor();
+                    double brightness = ColorUtil.getPerceivedBrightness(fg);
+                    bgColor = brightness > 127 ? Color.BLACK : Color.WHITE;
+                }
 
-            img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * textRect.width),
-                    (int) Math.round(scaleY * textRect.height));
-            drawingGraphics = prepareImage(img, bgColor, fgColor, scaleX, scaleY);
-            textRect.setLocation(0, 0);
-        }
-        drawingGraphics.setFont(font);
+                imgWidth = (int) Math.round(scaleX * textRect.width);
+                imgHeight = (int) Math.round(scaleY * textRect.height);
+                if (experimentalAntialiasingEnabled) {
+                    // The post processed image is produced lazily from the buffer, hence it can't be pooled.
+                    img = ImageUtil.createCompatibleImage(imgWidth, imgHeight);
+                    fillImage(img, imgWidth, imgHeight, bgColor);
+                } else {
+                    img = ScratchImagePool.acquire(((Graphics2D) g).getDeviceConfiguration(),
+                            imgWidth, imgHeight, bgColor);
+                    pooledImage = img;
+                }
+                drawingGraphics = prepareImage(img, imgWidth, imgHeight, fgColor, scaleX, scaleY);
+                textRect.setLocation(0, 0);
+            }
+            drawingGraphics.setFont(font);
 
-        View v = view != null ? view : PropertyUtil.getObject(c, BasicHTML.propertyKey, View.class);
-        if (v != null) {
-            v.paint(drawingGraphics, textRect);
-        } else {
-            int textY = textRect.y + asc;
-            if (mnemIndex >= 0) {
-                SwingUtil.drawStringUnderlineCharAt(c, drawingGraphics, text, mnemIndex, textRect.x, textY);
+            View v = view != null ? view : PropertyUtil.getObject(c, BasicHTML.propertyKey, View.class);
+            if (v != null) {
+                v.paint(drawingGraphics, textRect);
             } else {
-                SwingUtil.drawString(c, drawingGraphics, text, textRect.x, textY);
+                int textY = textRect.y + asc;
+                if (mnemIndex >= 0) {
+                    SwingUtil.drawStringUnderlineCharAt(c, drawingGraphics, text, mnemIndex, textRect.x, textY);
+                } else {
+                    SwingUtil.drawString(c, drawingGraphics, text, textRect.x, textY);
+                }
             }
-        }
 
-        if (paintOpaqueBuffered) {
-            drawingGraphics.dispose();
-            Image result = postProcessImage((Graphics2D) g, img, textPos, bgColor, fgColor);
-            g.drawImage(result, x, y, textRect.width, textRect.height, null);
+            if (paintOpaqueBuffered) {
+                if (experimentalAntialiasingEnabled) {
+                    Image result = postProcessImage((Graphics2D) g, img, textPos, bgColor, fgColor);
+                    g.drawImage(result, x, y, textRect.width, textRect.height, null);
+                } else {
+                    g.drawImage(img, x, y, x + textRect.width, y + textRect.height, 0, 0, imgWidth, imgHeight, null);
+                }
+            }
+            context.restore();
+        } finally {
+            if (drawingGraphics != g) drawingGraphics.dispose();
+            ScratchImagePool.release(pooledImage);
         }
-        context.restore();
     }
 
     private static Image postProcessImage(final Graphics2D g, final BufferedImage img, final Point textPos,
@@ -238,13 +258,19 @@ public final class StringPainter {
         return null;
     }
 
-    private static Graphics2D prepareImage(final BufferedImage img, final Color background, final Color color,
-            final double xScale, final double yScale) {
-        Graphics2D g = (Graphics2D) img.getGraphics();
+    private static void fillImage(final BufferedImage img, final int width, final int height,
+            final Color background) {
+        Graphics g = img.getGraphics();
         g.setColor(background);
-        g.fillRect(0, 0, img.getWidth(), img.getHeight());
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+    }
+
+    private static Graphics2D prepareImage(final BufferedImage img, final int width, final int height,
+            final Color color, final double xScale, final double yScale) {
+        Graphics2D g = (Graphics2D) img.getGraphics();
         g.setColor(color);
-        g.setClip(0, 0, img.getWidth(), img.getHeight());
+        g.setClip(0, 0, width, height);
         g.scale(xScale, yScale);
         return g;
     }
@@ -261,15 +287,20 @@ public final class StringPainter {
     public static void paintOpacityBuffered(final Graphics g, final JComponent c, final OpacityBufferedUI ui) {
         double scaleX = Scale.getScaleX((Graphics2D) g);
         double scaleY = Scale.getScaleX((Graphics2D) g);
-        BufferedImage img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * c.getWidth()),
-                (int) Math.round(scaleY * c.getHeight()));
-        Graphics imgGraphics = img.getGraphics();
-        imgGraphics.setColor(c.getBackground());
-        imgGraphics.fillRect(0, 0, c.getWidth(), c.getHeight());
-        imgGraphics.setClip(0, 0, img.getWidth(), img.getHeight());
-        ((Graphics2D) imgGraphics).scale(scaleX, scaleY);
-        ui.updateUI(imgGraphics, c);
-        imgGraphics.dispose();
-        g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), null);
+        int imgWidth = (int) Math.round(scaleX * c.getWidth());
+        int imgHeight = (int) Math.round(scaleY * c.getHeight());
+        BufferedImage img = ScratchImagePool.acquire(((Graphics2D) g).getDeviceConfiguration(),
+                imgWidth, imgHeight, c.getBackground());
+        try {
+            Graphics imgGraphics = prepareImage(img, imgWidth, imgHeight, c.getBackground(), scaleX, scaleY);
+            try {
+                ui.updateUI(imgGraphics, c);
+            } finally {
+                imgGraphics.dispose();
+            }
+            g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), 0, 0, imgWidth, imgHeight, null);
+        } finally {
+            ScratchImagePool.release(img);
+        }
     }
 }
@@ -21,6 +21,10 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.*;
 import javax.swing.text.html.HTMLEditorKit;
@@ -28,16 +32,50 @@ import javax.swing.text.html.StyleSheet;
 
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.util.ColorUtil;
+import com.github.weisj.darklaf.util.cache.LRUCache;
 
 public class StyleSheetInitTask implements DefaultsInitTask {
 
+    /*
+     * Parsing the style sheet is rather expensive. Installing the same theme again e.g. after a change to
+     * unrelated defaults or when switching back and forth between themes reuses the previously created one.
+     * The colors read while creating a style sheet are recorded and a cached style sheet is only reused if
+     * they still have the same values.
+     */
+    private static final LRUCache<StyleSheetKey, CachedStyleSheet> STYLE_SHEETS = new LRUCache<>(4);
+
     private UIDefaults defaults;
+    private Map<String, String> colorLookups;
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         this.defaults = defaults;
-        StyleSheet styleSheet = new StyleSheet();
         Font font = defaults.getFont("html.font");
+        StyleSheetKey key = new StyleSheetKey(getClass(), currentTheme, font);
+        CachedStyleSheet cached = STYLE_SHEETS.get(key);
+        if (cached == null || !cached.isUnmodified() || !cached.colorsMatch(defaults)) {
+            colorLookups = new HashMap<>();
+            try {
+                cached = new CachedStyleSheet(createStyleSheet(currentTheme, font), colorLookups);
+            } finally {
+                colorLookups = null;
+            }
+            STYLE_SHEETS.put(key, cached);
+        }
+        new HTMLEditorKit().setStyleSheet(cached.styleSheet);
+    }
+
+    /**
+     * Creates the default style sheet. The created style sheet is cached and reused for the same theme and font
+     * as long as the colors read through {@link #hex(String)} don't change. Other defaults should not influence
+     * the result.
+     *
+     * @param currentTheme the current theme.
+     * @param font the html font.
+     * @return the style sheet.
+     */
+    protected StyleSheet createStyleSheet(final Theme currentTheme, final Font font) {
+        StyleSheet styleSheet = new StyleSheet();
         CSSBuilder builder = new CSSBuilder();
 
         builder.group("body")
@@ -243,10 +281,16 @@ public class StyleSheetInitTask implements DefaultsInitTask {
         if (custom.getStyleNames().hasMoreElements()) {
             styleSheet.addStyleSheet(custom);
         }
-        new HTMLEditorKit().setStyleSheet(styleSheet);
+        return styleSheet;
     }
 
     protected String hex(final String key) {
+        String value = toHex(defaults, key);
+        if (colorLookups != null) colorLookups.put(key, value);
+        return value;
+    }
+
+    private static String toHex(final UIDefaults defaults, final String key) {
         Color c = defaults.getColor(key);
         return "#" + ColorUtil.toHex(c);
     }
@@ -263,4 +307,67 @@ public class StyleSheetInitTask implements DefaultsInitTask {
     public boolean onlyDuringInstallation() {
         return true;
     }
+
+    private static int countStyles(final StyleSheet styleSheet) {
+        int count = 0;
+        Enumeration<?> names = styleSheet.getStyleNames();
+        while (names.hasMoreElements()) {
+            names.nextElement();
+            count++;
+        }
+        StyleSheet[] linked = styleSheet.getStyleSheets();
+        return linked != null ? count + linked.length : count;
+    }
+
+    private static final class CachedStyleSheet {
+        private final StyleSheet styleSheet;
+        private final int styleCount;
+        private final Map<String, String> colors;
+
+        private CachedStyleSheet(final StyleSheet styleSheet, final Map<String, String> colors) {
+            this.styleSheet = styleSheet;
+            this.styleCount = countStyles(styleSheet);
+            this.colors = colors;
+        }
+
+        private boolean colorsMatch(final UIDefaults defaults) {
+            for (Map.Entry<String, String> entry : colors.entrySet()) {
+                if (!entry.getValue().equals(toHex(defaults, entry.getKey()))) return false;
+            }
+            return true;
+        }
+
+        /*
+         * The default style sheet may be modified by clients. In this case a fresh one is created to mirror the
+         * behaviour of a new installation.
+         */
+        private boolean isUnmodified() {
+            return countStyles(styleSheet) == styleCount;
+        }
+    }
+
+    private static final class StyleSheetKey {
+        private final Class<?> type;
+        private final Theme theme;
+        private final Font font;
+
+        private StyleSheetKey(final Class<?> type, final Theme theme, final Font font) {
+            this.type = type;
+            this.theme = theme;
+            this.font = font;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StyleSheetKey)) return false;
+            StyleSheetKey that = (StyleSheetKey) o;
+            return type == that.type && Objects.equals(theme, that.theme) && Objects.equals(font, that.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, theme, font);
+        }
+    }
 }
@@ -34,6 +34,7 @@ import javax.swing.plaf.basic.BasicGraphicsUtils;
 
 import com.github.weisj.darklaf.components.tooltip.ToolTipStyle;
 import com.github.weisj.darklaf.delegate.AbstractButtonLayoutDelegate;
+import com.github.weisj.darklaf.graphics.PaintProfiler;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.graphics.StringPainter;
 import com.github.weisj.darklaf.swingdsl.VisualPaddingListener;
@@ -190,6 +191,13 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         }
     }
 
+    @Override
+    public void update(final Graphics g, final JComponent c) {
+        try (CleanupTask ignored = PaintProfiler.begin(c)) {
+            super.update(g, c);
+        }
+    }
+
     @Override
     public void paint(final Graphics g, final JComponent c) {
         validateLayout();
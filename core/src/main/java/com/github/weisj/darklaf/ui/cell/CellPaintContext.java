@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.cell;
+
+import java.awt.*;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.ui.list.DarkListUI;
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.value.CleanupTask;
+
+/**
+ * State of a cell container which stays the same while its cells are painted. The context is
+ * created by the ui delegate at the beginning of a paint pass and used by {@link CellUtil} when
+ * setting up the renderers of the cells, instead of querying the container for every single cell.
+ *
+ * <pre>{@code
+ * try (CleanupTask ignored = CellPaintContext.begin(list, DarkListUI.KEY_ALTERNATE_ROW_COLOR)) {
+ *     // paint cells
+ * }
+ * }</pre>
+ */
+public final class CellPaintContext {
+
+    private static final ThreadLocal<CellPaintContext> CURRENT = new ThreadLocal<>();
+
+    private final JComponent parent;
+    private final CellPaintContext previous;
+    private final boolean focus;
+    private final boolean enabled;
+    private final boolean alternateRowColor;
+    private final boolean comboList;
+
+    private CellPaintContext(final JComponent parent, final String alternateRowColorKey,
+            final CellPaintContext previous) {
+        this.parent = parent;
+        this.previous = previous;
+        this.focus = CellUtil.hasParentFocus(parent);
+        this.enabled = parent.isEnabled();
+        this.alternateRowColor = PropertyUtil.getBooleanProperty(parent, alternateRowColorKey);
+        this.comboList =
+                parent instanceof JList && PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
+    }
+
+    /**
+     * Begins a paint pass for the given cell container. The context is active until the returned task
+     * is closed. Contexts may be nested e.g. if a cell renderer paints a container itself.
+     *
+     * @param parent the cell container.
+     * @param alternateRowColorKey the client property key for alternating row colors of the container.
+     * @return the task ending the paint pass.
+     */
+    public static CleanupTask begin(final JComponent parent, final String alternateRowColorKey) {
+        CellPaintContext context = new CellPaintContext(parent, alternateRowColorKey, CURRENT.get());
+        CURRENT.set(context);
+        return context::end;
+    }
+
+    private void end() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Returns the active context for the given cell container.
+     *
+     * @param parent the cell container.
+     * @return the context or null if no paint pass of the container is in progress.
+     */
+    static CellPaintContext get(final Component parent) {
+        CellPaintContext context = CURRENT.get();
+        return context != null && context.parent == parent ? context : null;
+    }
+
+    boolean hasFocus(final Component comp) {
+        return focus || comp.hasFocus();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isAlternateRowColor() {
+        return alternateRowColor;
+    }
+
+    boolean isComboList() {
+        return comboList;
+    }
+}
@@ -261,7 +261,7 @@ public final class CellUtil {
     }
 
     public static void setupListForeground(final Component comp, final JList<?> parent, final boolean selected) {
-        boolean comboList = PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
+        boolean comboList = isComboList(parent);
         setupForeground(comp, parent, selected, listCellForeground,
                 comboList ? comboListCellForegroundSelected : listCellForegroundSelected,
                 listCellForegroundNoFocus, listCellForegroundSelectedNoFocus, listCellInactiveForeground,
@@ -278,7 +278,8 @@ public final class CellUtil {
     public static void setupForeground(final Component comp, final JComponent parent, final boolean selected,
             final Color fg, final Color selFg, final Color fgNoFocus, final Color selFgNoFocus, final Color inactiveFg,
             final Color inactiveSelFg, final Color inactiveFgNoFocus, final Color inactiveSelFgNoFocus) {
-        boolean enabled = comp.isEnabled() && parent.isEnabled();
+        CellPaintContext context = CellPaintContext.get(parent);
+        boolean enabled = comp.isEnabled() && (context != null ? context.isEnabled() : parent.isEnabled());
         boolean focus = hasFocus(parent, comp);
         setupForeground(comp, parent, focus, selected, enabled, fg, selFg, fgNoFocus, selFgNoFocus, inactiveFg,
                 inactiveSelFg, inactiveFgNoFocus, inactiveSelFgNoFocus);
@@ -295,7 +296,7 @@ public final class CellUtil {
 
     public static Color getTableBackground(final Component comp, final JTable parent, final boolean selected,
             final boolean focus, final int row) {
-        boolean alt = row % 2 == 1 && PropertyUtil.getBooleanProperty(parent, DarkTableUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean alt = row % 2 == 1 && isAlternateRowColor(parent, DarkTableUI.KEY_ALTERNATE_ROW_COLOR);
         return getColor(comp, focus, selected, alt ? tableCellBackgroundAlternative : tableCellBackground,
                 tableCellBackgroundSelected, alt ? tableCellBackgroundNoFocusAlternative : tableCellBackgroundNoFocus,
                 tableCellBackgroundSelectedNoFocus,
@@ -318,8 +319,7 @@ public final class CellUtil {
             final boolean focus, final int row) {
         Color treeBg = parent.getBackground();
         boolean canOverwrite = ColorUtil.canOverwriteColor(treeBg);
-        boolean alt = canOverwrite && row % 2 == 1
-                && PropertyUtil.getBooleanProperty(parent, DarkTreeUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean alt = canOverwrite && row % 2 == 1 && isAlternateRowColor(parent, DarkTreeUI.KEY_ALTERNATE_ROW_COLOR);
         Color defaultBg = canOverwrite ? treeCellBackground : treeBg;
         Color defaultBgNoFocus = canOverwrite ? treeCellBackgroundNoFocus : treeBg;
         Color defaultBgInactive = canOverwrite ? treeCellInactiveBackground : treeBg;
@@ -356,9 +356,6 @@ public final class CellUtil {
             DarkListUI ui = DarkUIUtil.getUIOfType(parent.getUI(), DarkListUI.class);
             if (ui != null) {
                 row = ui.convertModelToRow(index);
-                if (row == -1 && index >= parent.getModel().getSize()) {
-                    row = ui.convertModelToRow(index - ui.getRowCount(ui.getColumnCount() - 1));
-                }
                 if (row == -1) {
                     row = index;
                 }
@@ -373,8 +370,8 @@ public final class CellUtil {
 
     public static Color getListBackground(final Component comp, final JList<?> parent, final boolean selected,
             final boolean altRow) {
-        boolean alt = altRow && PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
-        boolean comboList = PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
+        boolean alt = altRow && isAlternateRowColor(parent, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean comboList = isComboList(parent);
         return getColor(comp, hasFocus(parent, comp), selected,
                 alt ? listCellBackgroundAlternative : listCellBackground,
                 comboList ? comboListCellBackgroundSelected : listCellBackgroundSelected,
@@ -461,9 +458,26 @@ public final class CellUtil {
         return c;
     }
 
-    private static boolean hasFocus(final Component cellComponent, final Component parentComponent) {
-        return parentComponent.hasFocus() || DarkUIUtil.hasFocus(cellComponent)
-                || DarkUIUtil.getParentOfType(JPopupMenu.class, cellComponent, 4) != null;
+    private static boolean hasFocus(final Component parent, final Component comp) {
+        CellPaintContext context = CellPaintContext.get(parent);
+        if (context != null) return context.hasFocus(comp);
+        return comp.hasFocus() || hasParentFocus(parent);
+    }
+
+    static boolean hasParentFocus(final Component parent) {
+        return DarkUIUtil.hasFocus(parent) || DarkUIUtil.getParentOfType(JPopupMenu.class, parent, 4) != null;
+    }
+
+    private static boolean isAlternateRowColor(final JComponent parent, final String key) {
+        CellPaintContext context = CellPaintContext.get(parent);
+        if (context != null) return context.isAlternateRowColor();
+        return PropertyUtil.getBooleanProperty(parent, key);
+    }
+
+    private static boolean isComboList(final JList<?> parent) {
+        CellPaintContext context = CellPaintContext.get(parent);
+        if (context != null) return context.isComboList();
+        return PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
     }
 
     public static void setSelectedFlag(final Component comp, final boolean selected) {
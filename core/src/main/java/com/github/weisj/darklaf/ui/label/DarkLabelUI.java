@@ -37,6 +37,12 @@ import com.github.weisj.darklaf.util.graphics.GraphicsContext;
 /** @author Jannis Weis */
 public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener {
 
+    /**
+     * Whether parsed html views should be reused if the label displays the same text again. Enabled by default
+     * for labels used as cell renderers.
+     */
+    public static final String KEY_HTML_VIEW_CACHE = "JLabel.htmlViewCache";
+
     protected static DarkLabelUI darkLabelUI;
 
     private Color inactiveForeground;
@@ -58,6 +64,12 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
         if (c != null) super.installUI(c);
     }
 
+    @Override
+    public void uninstallUI(final JComponent c) {
+        super.uninstallUI(c);
+        HTMLViewCache.uninstall((JLabel) c);
+    }
+
     @Override
     protected void installDefaults(final JLabel c) {
         super.installDefaults(c);
@@ -142,9 +154,15 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
 
     @Override
     public void propertyChange(final PropertyChangeEvent e) {
-        super.propertyChange(e);
         String key = e.getPropertyName();
-        if (PropertyKey.COMPONENT_ORIENTATION.equals(key)) {
+        if (PropertyKey.TEXT.equals(key) || PropertyKey.FONT.equals(key) || PropertyKey.FOREGROUND.equals(key)) {
+            if (!HTMLViewCache.updateRenderer((JLabel) e.getSource())) super.propertyChange(e);
+            return;
+        }
+        super.propertyChange(e);
+        if (PropertyKey.GRAPHICS_CONFIGURATION.equals(key)) {
+            HTMLViewCache.clear((JLabel) e.getSource());
+        } else if (PropertyKey.COMPONENT_ORIENTATION.equals(key)) {
             Object source = e.getSource();
             if (source instanceof JLabel) {
                 ((JLabel) source).doLayout();
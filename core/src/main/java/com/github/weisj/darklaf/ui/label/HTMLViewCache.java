@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.label;
+
+import java.awt.*;
+import java.util.Objects;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.text.View;
+import javax.swing.tree.TreeCellRenderer;
+
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.cache.LRUCache;
+
+/**
+ * Holds the html views previously created for a label. Cell renderers display the same markup over and over
+ * again, which would otherwise be parsed each time the text of the renderer is set.
+ * <p>
+ * The views created by {@link BasicHTML} are bound to the component they were created for, hence the cache
+ * belongs to a single label and isn't shared. A theme change installs a new ui and with it a new cache, so
+ * views created for an old style sheet are never reused.
+ * <p>
+ * The views are always created on the event dispatch thread. Creating them reads the font and foreground of
+ * the label and parses the markup against the shared default style sheet of {@link BasicHTML}, neither of which
+ * may be accessed from another thread.
+ * <p>
+ * The capacity follows the number of visible cells of the component the label renders, such that scrolling
+ * doesn't evict the views of cells which are still visible.
+ */
+final class HTMLViewCache {
+
+    private static final String KEY_CACHE = "JLabel.htmlViewCacheInstance";
+    private static final int MIN_CAPACITY = 32;
+
+    private final JLabel label;
+    private LRUCache<Key, View> views = new LRUCache<>(MIN_CAPACITY);
+
+    private HTMLViewCache(final JLabel label) {
+        this.label = label;
+    }
+
+    /**
+     * Updates the html view of the label if the cache is enabled.
+     *
+     * @param label the label.
+     * @return true if the view has been updated. If false is returned the view has to be updated by the caller.
+     */
+    static boolean updateRenderer(final JLabel label) {
+        String text = label.getText();
+        if (!BasicHTML.isHTMLString(text) || !isCacheEnabled(label)) return false;
+        HTMLViewCache cache = getCache(label);
+        if (cache == null) {
+            cache = new HTMLViewCache(label);
+            label.putClientProperty(KEY_CACHE, cache);
+        }
+        cache.update(text);
+        return true;
+    }
+
+    static void clear(final JLabel label) {
+        HTMLViewCache cache = getCache(label);
+        if (cache != null) cache.views.clear();
+    }
+
+    static void uninstall(final JLabel label) {
+        if (getCache(label) != null) {
+            clear(label);
+            label.putClientProperty(KEY_CACHE, null);
+        }
+    }
+
+    static HTMLViewCache getCache(final JLabel label) {
+        return PropertyUtil.getObject(label, KEY_CACHE, HTMLViewCache.class);
+    }
+
+    private static boolean isCacheEnabled(final JLabel label) {
+        Object enabled = label.getClientProperty(DarkLabelUI.KEY_HTML_VIEW_CACHE);
+        if (enabled instanceof Boolean) return (Boolean) enabled;
+        return label instanceof TableCellRenderer || label instanceof ListCellRenderer
+                || label instanceof TreeCellRenderer || DarkUIUtil.isInCell(label);
+    }
+
+    private void update(final String text) {
+        Key key = new Key(text, label.getFont(), label.getForeground());
+        View view = views.get(key);
+        if (view == null) {
+            // Parsing the markup by far outweighs determining the visible cells.
+            updateCapacity();
+            view = BasicHTML.createHTMLView(label, text);
+            views.put(key, view);
+        }
+        label.putClientProperty(BasicHTML.propertyKey, view);
+    }
+
+    /*
+     * Keep room for the visible cells and the cells which become visible when scrolling by a viewport.
+     * The cache is only shrunk if it is considerably larger than needed.
+     */
+    private void updateCapacity() {
+        int visibleCells = getVisibleCellCount();
+        if (visibleCells < 0) return;
+        int capacity = Math.max(MIN_CAPACITY, 2 * visibleCells);
+        int current = views.getCapacity();
+        if (capacity > current || (current > MIN_CAPACITY && 4 * capacity <= current)) {
+            views = new LRUCache<>(capacity);
+        }
+    }
+
+    /*
+     * Renderers are only added to the renderer pane of their component while it is painted. If the label
+     * currently isn't part of a renderer pane -1 is returned.
+     */
+    private int getVisibleCellCount() {
+        Container pane = label.getParent();
+        if (!(pane instanceof CellRendererPane)) return -1;
+        Container owner = pane.getParent();
+        if (owner instanceof JTable) {
+            JTable table = (JTable) owner;
+            Rectangle visible = table.getVisibleRect();
+            if (visible.isEmpty()) return 0;
+            int rows = getVisibleCount(table.rowAtPoint(visible.getLocation()),
+                    table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1)), table.getRowCount());
+            int firstColumn = table.columnAtPoint(visible.getLocation());
+            int lastColumn = table.columnAtPoint(new Point(visible.x + visible.width - 1, visible.y));
+            int columns = getVisibleCount(Math.min(firstColumn, lastColumn), Math.max(firstColumn, lastColumn),
+                    table.getColumnCount());
+            return rows * columns;
+        } else if (owner instanceof JList) {
+            JList<?> list = (JList<?>) owner;
+            return getVisibleCount(list.getFirstVisibleIndex(), list.getLastVisibleIndex(), list.getModel().getSize());
+        } else if (owner instanceof JTree) {
+            JTree tree = (JTree) owner;
+            Rectangle visible = tree.getVisibleRect();
+            if (visible.isEmpty()) return 0;
+            return getVisibleCount(tree.getClosestRowForLocation(visible.x, visible.y),
+                    tree.getClosestRowForLocation(visible.x, visible.y + visible.height - 1), tree.getRowCount());
+        }
+        return -1;
+    }
+
+    private static int getVisibleCount(final int first, final int last, final int count) {
+        if (count == 0) return 0;
+        int start = first >= 0 ? first : 0;
+        int end = last >= 0 ? last : count - 1;
+        return Math.max(0, end - start + 1);
+    }
+
+    int getCapacity() {
+        return views.getCapacity();
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Font font;
+        private final Color foreground;
+
+        private Key(final String text, final Font font, final Color foreground) {
+            this.text = text;
+            this.font = font;
+            this.foreground = foreground;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return text.equals(key.text) && Objects.equals(font, key.font)
+                    && Objects.equals(foreground, key.foreground);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, font, foreground);
+        }
+    }
+}
@@ -27,10 +27,13 @@ import java.beans.PropertyChangeEvent;
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 
+import com.github.weisj.darklaf.graphics.PaintProfiler;
 import com.github.weisj.darklaf.ui.cell.CellConstants;
+import com.github.weisj.darklaf.ui.cell.CellPaintContext;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.value.CleanupTask;
 
 /** @author Jannis Weis */
 public class DarkListUI extends DarkListUIBridge implements CellConstants {
@@ -43,6 +46,7 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
     public static final String KEY_FULL_ROW_SELECTION = KEY_PREFIX + "fullRowSelection";
     public static final String KEY_IS_EDITING = KEY_PREFIX + "isEditing";
     public static final String KEY_IS_LIST_EDITOR = "JComponent.listCellEditor";
+    public static final String KEY_INCREMENTAL_LAYOUT = KEY_PREFIX + "incrementalLayout";
 
     protected DarkListCellRendererDelegate rendererDelegate;
 
@@ -58,6 +62,20 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
         c.add(rendererPane);
     }
 
+    @Override
+    public void update(final Graphics g, final JComponent c) {
+        try (CleanupTask ignored = PaintProfiler.begin(c)) {
+            super.update(g, c);
+        }
+    }
+
+    @Override
+    public void paint(final Graphics g, final JComponent c) {
+        try (CleanupTask ignored = CellPaintContext.begin(list, KEY_ALTERNATE_ROW_COLOR)) {
+            super.paint(g, c);
+        }
+    }
+
     @Override
     protected void installDefaults() {
         super.installDefaults();
@@ -77,6 +95,11 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
         return handler;
     }
 
+    @Override
+    protected boolean useIncrementalLayout() {
+        return PropertyUtil.getBooleanProperty(list, KEY_INCREMENTAL_LAYOUT);
+    }
+
     @Override
     protected void paintImpl(final Graphics g, final JComponent c) {
         switch (layoutOrientation) {
@@ -211,6 +234,9 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
             String key = e.getPropertyName();
             if (KEY_ALTERNATE_ROW_COLOR.equals(key)) {
                 list.repaint();
+            } else if (KEY_INCREMENTAL_LAYOUT.equals(key)) {
+                updateLayoutStateNeeded |= modelChanged;
+                redrawList();
             }
         }
 
@@ -26,6 +26,7 @@ import java.awt.event.*;
 import java.awt.geom.Point2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.BitSet;
 import java.util.Objects;
 
 import javax.swing.*;
@@ -140,6 +141,21 @@ public abstract class DarkListUIBridge extends BasicListUI {
     protected boolean isFileList = false;
     /** Local cache of JList's component orientation property */
     protected boolean isLeftToRight = true;
+    /**
+     * Row heights of the list if the list uses incremental layout. Otherwise this is null.
+     *
+     * @see #useIncrementalLayout()
+     */
+    private RowHeightIndex rowHeightIndex;
+    /*
+     * The selection state of the visible cells as of the last selection event, relative to
+     * snapshotFirstIndex. Used to determine which cells actually changed their selection state.
+     * Discarded whenever indices of the model are shifted.
+     */
+    private BitSet selectionSnapshot;
+    private int snapshotFirstIndex = -1;
+    private int snapshotLastIndex = -1;
+    private int snapshotLeadIndex = -1;
 
     /**
      * Returns a new instance of {@code BasicListUI}. {@code BasicListUI} delegates are allocated one
@@ -651,6 +667,8 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         cellWidth = cellHeight = -1;
         cellHeights = null;
+        rowHeightIndex = null;
+        selectionSnapshot = null;
 
         listWidth = listHeight = -1;
 
@@ -800,6 +818,12 @@ public abstract class DarkListUIBridge extends BasicListUI {
         int fixedCellHeight = list.getFixedCellHeight();
         int fixedCellWidth = list.getFixedCellWidth();
 
+        if (fixedCellHeight == -1 && layoutOrientation == JList.VERTICAL && useIncrementalLayout()) {
+            resetIncrementalLayoutState(fixedCellWidth);
+            return;
+        }
+        rowHeightIndex = null;
+
         cellWidth = fixedCellWidth;
 
         if (fixedCellHeight != -1) {
@@ -853,6 +877,103 @@ public abstract class DarkListUIBridge extends BasicListUI {
         }
     }
 
+    /**
+     * Returns whether the list should be layed out incrementally. This only affects lists with a
+     * vertical layout orientation and without a fixed cell height.
+     *
+     * <p>
+     * Instead of asking the renderer for the size of every cell when the layout is updated only the
+     * cells which are actually needed e.g. for painting are measured. All other cells use an estimated
+     * height. Changes to the model are applied to the existing layout state instead of recomputing it.
+     * The width of the list is the maximum width of the cells measured so far.
+     *
+     * @return true if the layout should be computed incrementally.
+     */
+    protected boolean useIncrementalLayout() {
+        return false;
+    }
+
+    /**
+     * Resets the incremental layout state. Only a single cell (the prototype cell value or the first
+     * element) is measured to estimate the size of all cells.
+     *
+     * @param fixedCellWidth the fixed cell width.
+     * @see #useIncrementalLayout()
+     */
+    protected void resetIncrementalLayoutState(final int fixedCellWidth) {
+        ListModel<Object> dataModel = list.getModel();
+        int dataModelSize = dataModel.getSize();
+        ListCellRenderer<Object> renderer = list.getCellRenderer();
+
+        Dimension estimatedSize = new Dimension(0, 0);
+        if (renderer != null) {
+            Object prototype = list.getPrototypeCellValue();
+            if (prototype != null) {
+                estimatedSize = getCellPreferredSize(renderer, prototype, -1);
+            } else if (dataModelSize > 0) {
+                estimatedSize = getCellPreferredSize(renderer, dataModel.getElementAt(0), 0);
+            }
+        }
+        cellHeight = -1;
+        cellHeights = null;
+        cellWidth = fixedCellWidth != -1 ? fixedCellWidth : estimatedSize.width;
+        columnCount = 1;
+        if (rowHeightIndex == null) {
+            rowHeightIndex = new RowHeightIndex();
+        }
+        rowHeightIndex.reset(dataModelSize, estimatedSize.height);
+    }
+
+    private Dimension getCellPreferredSize(final ListCellRenderer<Object> renderer, final Object value,
+            final int index) {
+        Component c = renderer.getListCellRendererComponent(list, value, index, false, false);
+        rendererPane.add(c);
+        return c.getPreferredSize();
+    }
+
+    /**
+     * Applies a change of the list model to the incremental layout state.
+     *
+     * @param e the event describing the change.
+     * @return true if the change has been applied and no full layout update is needed.
+     */
+    protected boolean updateIncrementalLayoutState(final ListDataEvent e) {
+        if (rowHeightIndex == null || updateLayoutStateNeeded != 0) return false;
+        int minIndex = Math.min(e.getIndex0(), e.getIndex1());
+        int maxIndex = Math.max(e.getIndex0(), e.getIndex1());
+        if (minIndex < 0) return false;
+        switch (e.getType()) {
+            case ListDataEvent.INTERVAL_ADDED:
+                rowHeightIndex.insert(minIndex, maxIndex - minIndex + 1);
+                break;
+            case ListDataEvent.INTERVAL_REMOVED:
+                rowHeightIndex.remove(minIndex, maxIndex);
+                break;
+            default:
+                rowHeightIndex.invalidate(minIndex, maxIndex);
+                break;
+        }
+        return rowHeightIndex.size() == list.getModel().getSize();
+    }
+
+    private int getIncrementalRowHeight(final int row) {
+        if (!rowHeightIndex.isMeasured(row)) {
+            ListCellRenderer<Object> renderer = list.getCellRenderer();
+            Dimension size = renderer != null
+                    ? getCellPreferredSize(renderer, list.getModel().getElementAt(row), row)
+                    : new Dimension(0, 0);
+            long totalHeight = rowHeightIndex.getTotalHeight();
+            rowHeightIndex.setHeight(row, size.height);
+            boolean sizeChanged = totalHeight != rowHeightIndex.getTotalHeight();
+            if (list.getFixedCellWidth() == -1 && size.width > cellWidth) {
+                cellWidth = size.width;
+                sizeChanged = true;
+            }
+            if (sizeChanged) list.revalidate();
+        }
+        return rowHeightIndex.getHeight(row);
+    }
+
     /**
      * Creates a delegate that implements {@code MouseInputListener}. The delegate is added to the
      * corresponding {@code java.awt.Component} listener lists at {@code installUI()} time. Subclasses
@@ -993,7 +1114,15 @@ public abstract class DarkListUIBridge extends BasicListUI {
             return -1;
         }
         Insets insets = list.getInsets();
-        if (cellHeights == null) {
+        if (rowHeightIndex != null) {
+            if (size != rowHeightIndex.size()) {
+                return -1;
+            }
+            if (y0 < insets.top) {
+                return closest ? 0 : size - 1;
+            }
+            return rowHeightIndex.getRowAt(y0 - insets.top);
+        } else if (cellHeights == null) {
             int row = (cellHeight == 0) ? 0 : ((y0 - insets.top) / cellHeight);
             if (closest) {
                 if (row < 0) {
@@ -1160,6 +1289,72 @@ public abstract class DarkListUIBridge extends BasicListUI {
         list.repaint();
     }
 
+    /**
+     * Repaints the visible cells whose selection state or lead status changed in the given index range.
+     * The selection state is only tracked for the visible cells, hence the work is bounded by the number
+     * of visible cells and not by the size of the changed range.
+     *
+     * @param firstIndex the first index of the changed range.
+     * @param lastIndex the last index of the changed range.
+     * @return false if the changed cells couldn't be determined.
+     */
+    private boolean repaintSelectionDamage(final int firstIndex, final int lastIndex) {
+        ListSelectionModel sm = list.getSelectionModel();
+        int leadIndex = adjustIndex(list.getLeadSelectionIndex(), list);
+        int firstVisible = list.getFirstVisibleIndex();
+        int lastVisible = list.getLastVisibleIndex();
+        if (sm == null || firstVisible < 0 || lastVisible < firstVisible) {
+            selectionSnapshot = null;
+            return false;
+        }
+        if (selectionSnapshot == null || firstVisible != snapshotFirstIndex || lastVisible != snapshotLastIndex) {
+            // The cells which became visible since the last snapshot may show an unknown state.
+            takeSelectionSnapshot(sm, firstVisible, lastVisible, leadIndex);
+            return false;
+        }
+        int from = Math.max(firstIndex, firstVisible);
+        int to = Math.min(lastIndex, lastVisible);
+        for (int i = from; i <= to; i++) {
+            boolean selected = sm.isSelectedIndex(i);
+            if (selected != selectionSnapshot.get(i - snapshotFirstIndex)) {
+                selectionSnapshot.set(i - snapshotFirstIndex, selected);
+                repaintCell(i);
+            }
+        }
+        if (leadIndex != snapshotLeadIndex) {
+            if (snapshotLeadIndex >= firstVisible && snapshotLeadIndex <= lastVisible) {
+                repaintCell(snapshotLeadIndex);
+            }
+            if (leadIndex >= firstVisible && leadIndex <= lastVisible) {
+                repaintCell(leadIndex);
+            }
+            snapshotLeadIndex = leadIndex;
+        }
+        return true;
+    }
+
+    private void repaintCell(final int index) {
+        Rectangle r = getCellBounds(list, index, index);
+        if (r != null) list.repaint(r);
+    }
+
+    private void takeSelectionSnapshot(final ListSelectionModel sm, final int firstVisible, final int lastVisible,
+            final int leadIndex) {
+        BitSet snapshot = new BitSet(lastVisible - firstVisible + 1);
+        for (int i = firstVisible; i <= lastVisible; i++) {
+            if (sm.isSelectedIndex(i)) snapshot.set(i - firstVisible);
+        }
+        selectionSnapshot = snapshot;
+        snapshotFirstIndex = firstVisible;
+        snapshotLastIndex = lastVisible;
+        snapshotLeadIndex = leadIndex;
+    }
+
+    /** Discards the selection snapshot. The next selection change repaints the whole changed range. */
+    protected void invalidateSelectionSnapshot() {
+        selectionSnapshot = null;
+    }
+
     /**
      * Adjust index int.
      *
@@ -1236,6 +1431,9 @@ public abstract class DarkListUIBridge extends BasicListUI {
         if (row >= list.getModel().getSize()) {
             return -1;
         }
+        if (rowHeightIndex != null) {
+            return row < rowHeightIndex.size() ? getIncrementalRowHeight(row) : -1;
+        }
         return (cellHeights == null) ? cellHeight : (row < cellHeights.length) ? cellHeights[row] : -1;
     }
 
@@ -1431,7 +1629,13 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 break;
             default:
                 x = insets.left;
-                if (cellHeights == null) {
+                if (rowHeightIndex != null) {
+                    if (row >= rowHeightIndex.size()) {
+                        y = 0;
+                    } else {
+                        y += (int) rowHeightIndex.getOffset(row);
+                    }
+                } else if (cellHeights == null) {
                     y += cellHeight * row;
                 } else if (row >= cellHeights.length) {
                     y = 0;
@@ -2339,6 +2543,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 if (newModel != null) {
                     newModel.addListDataListener(listDataListener);
                 }
+                invalidateSelectionSnapshot();
                 updateLayoutStateNeeded |= modelChanged;
                 redrawList();
             }
@@ -2356,6 +2561,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 if (newModel != null) {
                     newModel.addListSelectionListener(listSelectionListener);
                 }
+                invalidateSelectionSnapshot();
                 updateLayoutStateNeeded |= modelChanged;
                 redrawList();
             } else if (Objects.equals(propertyName, "cellRenderer")) {
@@ -2431,11 +2637,15 @@ public abstract class DarkListUIBridge extends BasicListUI {
         //
         @Override
         public void intervalAdded(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateIncrementalLayoutState(e)) {
+                updateLayoutStateNeeded = modelChanged;
+            }
 
             int minIndex = Math.min(e.getIndex0(), e.getIndex1());
             int maxIndex = Math.max(e.getIndex0(), e.getIndex1());
 
+            // Indices are shifted. The whole list is repainted anyway.
+            invalidateSelectionSnapshot();
             /*
              * Sync the SelectionModel with the DataModel.
              */
@@ -2452,8 +2662,12 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         @Override
         public void intervalRemoved(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateIncrementalLayoutState(e)) {
+                updateLayoutStateNeeded = modelChanged;
+            }
 
+            // Indices are shifted. The whole list is repainted anyway.
+            invalidateSelectionSnapshot();
             /*
              * Sync the SelectionModel with the DataModel.
              */
@@ -2471,7 +2685,9 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         @Override
         public void contentsChanged(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateIncrementalLayoutState(e)) {
+                updateLayoutStateNeeded = modelChanged;
+            }
             redrawList();
         }
 
@@ -2486,6 +2702,8 @@ public abstract class DarkListUIBridge extends BasicListUI {
             int firstIndex = Math.min(size - 1, Math.max(e.getFirstIndex(), 0));
             int lastIndex = Math.min(size - 1, Math.max(e.getLastIndex(), 0));
 
+            if (repaintSelectionDamage(firstIndex, lastIndex)) return;
+
             Rectangle bounds = getCellBounds(list, firstIndex, lastIndex);
 
             if (bounds != null) {
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores the heights of the rows of a list together with a fenwick tree of their prefix sums. This
+ * allows to compute the location of a row and the row at a location in O(log n) time. Rows which
+ * haven't been measured yet use an estimated height.
+ * <p>
+ * Updating the height of a single row and appending rows are O(log n) operations. Inserting or
+ * removing rows in the middle requires O(n) array operations but no renderer calls.
+ */
+class RowHeightIndex {
+
+    private int[] heights;
+    private long[] tree;
+    private final BitSet measured;
+    private int size;
+    private int estimatedHeight;
+
+    RowHeightIndex() {
+        heights = new int[0];
+        tree = new long[1];
+        measured = new BitSet();
+    }
+
+    void reset(final int size, final int estimatedHeight) {
+        this.size = size;
+        this.estimatedHeight = estimatedHeight;
+        heights = new int[Math.max(size, 16)];
+        Arrays.fill(heights, 0, size, estimatedHeight);
+        measured.clear();
+        rebuild();
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getEstimatedHeight() {
+        return estimatedHeight;
+    }
+
+    boolean isMeasured(final int row) {
+        return measured.get(row);
+    }
+
+    int getHeight(final int row) {
+        return heights[row];
+    }
+
+    void setHeight(final int row, final int height) {
+        measured.set(row);
+        int delta = height - heights[row];
+        if (delta == 0) return;
+        heights[row] = height;
+        add(row, delta);
+    }
+
+    /**
+     * Marks the rows in the given range as not measured. Their current height is used as an estimate
+     * until they are measured again.
+     *
+     * @param index0 the first row.
+     * @param index1 the last row (inclusive).
+     */
+    void invalidate(final int index0, final int index1) {
+        measured.clear(Math.max(0, index0), Math.min(size - 1, index1) + 1);
+    }
+
+    void insert(final int index, final int count) {
+        if (count <= 0) return;
+        ensureCapacity(size + count);
+        if (index >= size) {
+            // Appending only needs to compute the new tree nodes.
+            for (int i = 0; i < count; i++) {
+                append(estimatedHeight);
+            }
+            return;
+        }
+        System.arraycopy(heights, index, heights, index + count, size - index);
+        Arrays.fill(heights, index, index + count, estimatedHeight);
+        shiftMeasured(index, count);
+        size += count;
+        rebuild();
+    }
+
+    void remove(final int index0, final int index1) {
+        int from = Math.max(0, index0);
+        int to = Math.min(size - 1, index1);
+        if (to < from) return;
+        int count = to - from + 1;
+        System.arraycopy(heights, to + 1, heights, from, size - to - 1);
+        for (int i = from; i < size - count; i++) {
+            measured.set(i, measured.get(i + count));
+        }
+        measured.clear(size - count, size);
+        size -= count;
+        rebuild();
+    }
+
+    /**
+     * @param row the row.
+     * @return the sum of the heights of all rows before the given row.
+     */
+    long getOffset(final int row) {
+        long sum = 0;
+        for (int i = Math.min(row, size); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    long getTotalHeight() {
+        return getOffset(size);
+    }
+
+    /**
+     * Returns the row containing the given offset. Offsets larger than the total height map to the last
+     * row, negative offsets to the first one.
+     *
+     * @param offset the offset.
+     * @return the row at the offset or -1 if there are no rows.
+     */
+    int getRowAt(final long offset) {
+        if (size == 0) return -1;
+        if (offset < 0) return 0;
+        int pos = 0;
+        long remaining = offset;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && tree[next] <= remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return Math.min(pos, size - 1);
+    }
+
+    private void append(final int height) {
+        int i = size + 1;
+        heights[size] = height;
+        measured.clear(size);
+        size++;
+        // tree[i] covers the range (i - lowbit(i), i].
+        tree[i] = height + getOffset(i - 1) - getOffset(i - (i & -i));
+    }
+
+    private void add(final int row, final int delta) {
+        for (int i = row + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void rebuild() {
+        // The tree always has one more slot than there are row heights, so appending never overflows it.
+        if (tree.length != heights.length + 1) {
+            tree = new long[heights.length + 1];
+        } else {
+            Arrays.fill(tree, 0);
+        }
+        for (int i = 1; i <= size; i++) {
+            tree[i] += heights[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) tree[parent] += tree[i];
+        }
+    }
+
+    private void shiftMeasured(final int index, final int count) {
+        for (int i = size - 1; i >= index; i--) {
+            measured.set(i + count, measured.get(i));
+        }
+        measured.clear(index, index + count);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= heights.length && capacity < tree.length) return;
+        int newCapacity = Math.max(capacity, heights.length + (heights.length >> 1));
+        heights = Arrays.copyOf(heights, newCapacity);
+        tree = Arrays.copyOf(tree, newCapacity + 1);
+    }
+}
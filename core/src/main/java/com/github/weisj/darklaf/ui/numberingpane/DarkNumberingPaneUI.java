@@ -25,6 +25,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.font.FontRenderContext;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.Collection;
@@ -36,6 +37,8 @@ import java.util.logging.Logger;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import javax.swing.text.*;
@@ -44,6 +47,7 @@ import com.github.weisj.darklaf.components.text.IconListener;
 import com.github.weisj.darklaf.components.text.IndexListener;
 import com.github.weisj.darklaf.components.text.LineHighlighter;
 import com.github.weisj.darklaf.components.text.NumberingPane;
+import com.github.weisj.darklaf.ui.text.CaretGeometryCache;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.PropertyKey;
@@ -66,6 +70,14 @@ public class DarkNumberingPaneUI extends ComponentUI {
     protected int maxIconWidth = 0;
     protected Color oldBackground;
 
+    private final char[] numberBuffer = new char[10];
+    private final int[] digitWidths = new int[10];
+    private Font digitFont;
+    private FontRenderContext digitFontRenderContext;
+    private Font numberingFont;
+    private Font numberingFontSource;
+    private Font numberingFontBase;
+
     public static ComponentUI createUI(final JComponent c) {
         return new DarkNumberingPaneUI();
     }
@@ -121,6 +133,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
         if (textComponent != null) {
             textComponent.getCaret().removeChangeListener(getChangeListener());
             textComponent.getCaret().removeChangeListener(currentLinePainter);
+            textComponent.getDocument().removeDocumentListener(getDocumentListener());
             textComponent.removePropertyChangeListener(getPropertyChangeListener());
         }
         numberingPane.removePropertyChangeListener(getPropertyChangeListener());
@@ -132,6 +145,10 @@ public class DarkNumberingPaneUI extends ComponentUI {
         return getHandler();
     }
 
+    protected DocumentListener getDocumentListener() {
+        return getHandler();
+    }
+
     protected Handler getHandler() {
         if (handler == null) {
             handler = new Handler();
@@ -181,10 +198,11 @@ public class DarkNumberingPaneUI extends ComponentUI {
         g.setColor(backgroundHighlight);
         Rectangle rect;
         try {
-            rect = textComponent.modelToView(currOffset).getBounds();
+            rect = CaretGeometryCache.modelToView(textComponent, currOffset, Position.Bias.Forward);
         } catch (final BadLocationException e) {
-            rect = new Rectangle(0, 0, 0, 0);
+            rect = null;
         }
+        if (rect == null) rect = new Rectangle(0, 0, 0, 0);
         g.fillRect(0, rect.y, numberingPane.getWidth(), rect.height);
         return rect.y;
     }
@@ -197,37 +215,90 @@ public class DarkNumberingPaneUI extends ComponentUI {
         Font font = getNumberingFont(numberingPane.getTextComponent(), g, numberingPane.getFont());
         g.setFont(font);
         FontMetrics fm = numberingPane.getFontMetrics(font);
+        updateDigitWidths(fm);
 
-        int width = numberingPane.getWidth();
-        for (int i = startLine; i <= endLine; i++) {
-            int off = root.getElement(i).getStartOffset();
-            try {
-                String numberStr = String.valueOf(i);
-                Rectangle lineRect = textComponent.modelToView(off);
-                g.setColor(lineRect.y == yCur ? foregroundHighlight : numberingPane.getForeground());
-                g.drawString(numberStr, width - OUTER_PAD - fm.stringWidth(numberStr) - maxIconWidth,
-                        lineRect.y + lineRect.height - descent);
-            } catch (final BadLocationException e) {
-                LOGGER.log(Level.SEVERE, "Painting numbering failed", e);
+        int right = numberingPane.getWidth() - OUTER_PAD - maxIconWidth;
+        try {
+            Rectangle startRect = textComponent.modelToView(root.getElement(startLine).getStartOffset());
+            int lineHeight = getUniformLineHeight(startRect, startLine, endLine, root);
+            for (int i = startLine; i <= endLine; i++) {
+                int y;
+                int height;
+                if (lineHeight > 0) {
+                    y = startRect.y + (i - startLine) * lineHeight;
+                    height = lineHeight;
+                } else {
+                    Rectangle lineRect = textComponent.modelToView(root.getElement(i).getStartOffset());
+                    y = lineRect.y;
+                    height = lineRect.height;
+                }
+                int length = formatNumber(i);
+                int start = numberBuffer.length - length;
+                g.setColor(y == yCur ? foregroundHighlight : numberingPane.getForeground());
+                g.drawChars(numberBuffer, start, length, right - getNumberWidth(start), y + height - descent);
             }
+        } catch (final BadLocationException e) {
+            LOGGER.log(Level.SEVERE, "Painting numbering failed", e);
         }
         config.restore();
     }
 
+    /*
+     * Lines of a non wrapping text area all have the same height. In this case the line positions can be
+     * computed without querying the view for each line. The position of the last visible line is checked
+     * nonetheless as a custom ui may not adhere to this.
+     */
+    private int getUniformLineHeight(final Rectangle startRect, final int startLine, final int endLine,
+            final Element root) throws BadLocationException {
+        if (startRect == null || endLine <= startLine) return -1;
+        if (!(textComponent instanceof JTextArea) || ((JTextArea) textComponent).getLineWrap()) return -1;
+        Rectangle endRect = textComponent.modelToView(root.getElement(endLine).getStartOffset());
+        if (endRect == null || endRect.height != startRect.height) return -1;
+        if (endRect.y - startRect.y != (endLine - startLine) * startRect.height) return -1;
+        return startRect.height;
+    }
+
+    private int formatNumber(final int number) {
+        int n = number;
+        int index = numberBuffer.length;
+        do {
+            numberBuffer[--index] = (char) ('0' + n % 10);
+            n /= 10;
+        } while (n > 0);
+        return numberBuffer.length - index;
+    }
+
+    private int getNumberWidth(final int start) {
+        int width = 0;
+        for (int i = start; i < numberBuffer.length; i++) {
+            width += digitWidths[numberBuffer[i] - '0'];
+        }
+        return width;
+    }
+
+    private void updateDigitWidths(final FontMetrics fm) {
+        if (fm.getFont().equals(digitFont) && fm.getFontRenderContext().equals(digitFontRenderContext)) return;
+        for (int i = 0; i < digitWidths.length; i++) {
+            digitWidths[i] = fm.charWidth((char) ('0' + i));
+        }
+        digitFont = fm.getFont();
+        digitFontRenderContext = fm.getFontRenderContext();
+    }
+
     private Font getNumberingFont(final JComponent c, final Graphics g, final Font f) {
+        if (!(f instanceof UIResource)) return g.getFont();
         Font baseFont = c.getFont();
-        Font font = f;
-        if (font instanceof UIResource) {
+        if (numberingFont == null || f != numberingFontSource || baseFont != numberingFontBase) {
             int newSize = baseFont.getSize() - 1;
             if (newSize > 0) {
-                font = font.deriveFont((float) newSize);
+                numberingFont = f.deriveFont((float) newSize);
             } else {
-                font = font.deriveFont(baseFont.getSize2D());
+                numberingFont = f.deriveFont(baseFont.getSize2D());
             }
-        } else {
-            font = g.getFont();
+            numberingFontSource = f;
+            numberingFontBase = baseFont;
         }
-        return font;
+        return numberingFont;
     }
 
     protected void paintIcons(final Graphics g, final int startLine, final int endLine, final Element root) {
@@ -265,11 +336,13 @@ public class DarkNumberingPaneUI extends ComponentUI {
         }
     }
 
-    protected class Handler extends MouseAdapter implements PropertyChangeListener, ChangeListener {
+    protected class Handler extends MouseAdapter
+            implements PropertyChangeListener, ChangeListener, DocumentListener {
 
         protected int selectionLineStart;
         protected int selectionLineEnd;
         protected Object currentHighlight;
+        protected Rectangle currentLineBounds;
 
         @Override
         public void mouseClicked(final MouseEvent e) {
@@ -346,13 +419,65 @@ public class DarkNumberingPaneUI extends ComponentUI {
 
         @Override
         public void stateChanged(final ChangeEvent e) {
+            // Defer until updates to the document are completed, see LineHighlighter.
+            SwingUtilities.invokeLater(this::updateCurrentLine);
+        }
+
+        /*
+         * Only the background and number of the old and new current line change if the caret moves.
+         */
+        private void updateCurrentLine() {
+            if (textComponent == null || numberingPane == null) return;
+            Rectangle bounds;
+            try {
+                bounds = CaretGeometryCache.getCaretBounds(textComponent);
+            } catch (final BadLocationException ex) {
+                bounds = null;
+            }
+            Rectangle old = currentLineBounds;
+            currentLineBounds = bounds;
+            if (bounds == null || old == null) {
+                numberingPane.repaint();
+            } else if (old.y != bounds.y || old.height != bounds.height) {
+                int width = numberingPane.getWidth();
+                numberingPane.repaint(0, old.y, width, old.height);
+                numberingPane.repaint(0, bounds.y, width, bounds.height);
+            }
+        }
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            documentChanged();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            documentChanged();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            documentChanged();
+        }
+
+        private void documentChanged() {
+            // Line positions may have changed.
+            currentLineBounds = null;
             numberingPane.repaint();
         }
 
         @Override
         public void propertyChange(final PropertyChangeEvent evt) {
             String key = evt.getPropertyName();
-            if (PropertyKey.CARET.equals(key)) {
+            if (PropertyKey.DOCUMENT.equals(key) && evt.getSource() == textComponent) {
+                if (evt.getOldValue() instanceof Document) {
+                    ((Document) evt.getOldValue()).removeDocumentListener(getDocumentListener());
+                }
+                if (evt.getNewValue() instanceof Document) {
+                    ((Document) evt.getNewValue()).addDocumentListener(getDocumentListener());
+                }
+                documentChanged();
+            } else if (PropertyKey.CARET.equals(key)) {
                 if (evt.getNewValue() instanceof Caret) {
                     Object oldCaret = evt.getOldValue();
                     if (oldCaret instanceof Caret) {
@@ -373,8 +498,10 @@ public class DarkNumberingPaneUI extends ComponentUI {
                     textComponent.getHighlighter().removeHighlight(currentHighlight);
                     textComponent.getCaret().removeChangeListener(getChangeListener());
                     textComponent.getCaret().removeChangeListener(currentLinePainter);
+                    textComponent.getDocument().removeDocumentListener(getDocumentListener());
                     textComponent.removePropertyChangeListener(getPropertyChangeListener());
                 }
+                currentLineBounds = null;
                 if (newPane instanceof JTextComponent) {
                     textComponent = (JTextComponent) newPane;
                     try {
@@ -385,6 +512,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
                         LOGGER.log(Level.SEVERE, "Setting highlight failed", e);
                     }
                     textComponent.addPropertyChangeListener(getPropertyChangeListener());
+                    textComponent.getDocument().addDocumentListener(getDocumentListener());
                     textComponent.getCaret().addChangeListener(getChangeListener());
                     oldBackground = textComponent.getBackground();
                     textComponent.setBackground(UIManager.getColor("NumberingPane.textBackground"));
@@ -22,6 +22,7 @@ package com.github.weisj.darklaf.ui.table;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.Path2D;
 import java.beans.PropertyChangeEvent;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -33,8 +34,10 @@ import javax.swing.table.*;
 
 import com.github.weisj.darklaf.compatibility.SwingUtil;
 import com.github.weisj.darklaf.components.OverlayScrollPane;
+import com.github.weisj.darklaf.graphics.PaintProfiler;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.ui.HasRendererPane;
+import com.github.weisj.darklaf.ui.cell.CellPaintContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkBooleanCellRenderer;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
@@ -46,6 +49,7 @@ import com.github.weisj.darklaf.ui.table.renderer.DarkTableCellRendererDelegate;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.value.CleanupTask;
 
 /** @author Jannis Weis */
 public class DarkTableUI extends DarkTableUIBridge implements TableConstants, HasRendererPane {
@@ -73,6 +77,7 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
     private TableCellEditor oldBooleanEditor;
 
     protected DarkTableCellRendererDelegate rendererDelegate;
+    private TableCellRasterCache cellRasterCache;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTableUI();
@@ -146,6 +151,18 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             popupListener = createPopupMouseListener();
             popupListener.install();
         }
+        updateCellRasterCache();
+    }
+
+    protected void updateCellRasterCache() {
+        boolean enabled = PropertyUtil.getBooleanProperty(table, KEY_CELL_RASTER_CACHE);
+        if (enabled && cellRasterCache == null) {
+            cellRasterCache = new TableCellRasterCache(table);
+            cellRasterCache.install();
+        } else if (!enabled && cellRasterCache != null) {
+            cellRasterCache.uninstall();
+            cellRasterCache = null;
+        }
     }
 
     protected CellHintPopupListener<JTable, ?> createPopupMouseListener() {
@@ -159,6 +176,10 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             popupListener.uninstall();
             popupListener = null;
         }
+        if (cellRasterCache != null) {
+            cellRasterCache.uninstall();
+            cellRasterCache = null;
+        }
         // Handler is uninstalled in super.uninstallListeners()
         handler = null;
     }
@@ -241,8 +262,6 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
 
     @Override
     protected void paintGrid(final Graphics g, final int rMin, final int rMax, final int cMin, final int cMax) {
-        g.setColor(table.getGridColor());
-
         Rectangle minCell = table.getCellRect(rMin, cMin, true);
         Rectangle maxCell = table.getCellRect(rMax, cMax, true);
         Rectangle damagedArea = minCell.union(maxCell);
@@ -252,6 +271,11 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
         if (header != null) {
             draggedIndex = viewIndexForColumn(header.getDraggedColumn());
         }
+        /*
+         * All grid lines have the same color. They are collected into a single path, which is filled at once
+         * instead of issuing a separate fill for each row and column.
+         */
+        Path2D gridLines = new Path2D.Float(Path2D.WIND_NON_ZERO, 4 * (rMax - rMin + cMax - cMin + 3));
         if (table.getShowHorizontalLines()) {
             int tableWidth = damagedArea.x + damagedArea.width;
             if (table.getComponentOrientation().isLeftToRight()) {
@@ -266,27 +290,27 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             int y = damagedArea.y;
             for (int row = rMin; row <= rMax; row++) {
                 y += table.getRowHeight(row);
-                PaintUtil.drawHLine(g, damagedArea.x, tableWidth - 1, y - 1);
+                PaintUtil.appendHLine(gridLines, damagedArea.x, tableWidth - 1, y - 1);
             }
         }
 
-        boolean scrollPaneRtl = isScrollPaneRtl();
-        boolean scrollVisible = scrollBarVisible();
         if (table.getShowVerticalLines()) {
+            boolean scrollPaneRtl = isScrollPaneRtl();
+            boolean scrollVisible = scrollBarVisible();
             TableColumnModel cm = table.getColumnModel();
             int tableHeight = table.getHeight();
             int x;
             boolean ltr = table.getComponentOrientation().isLeftToRight();
             x = damagedArea.x;
-            if (scrollPaneRtl && scrollBarVisible()) {
-                PaintUtil.drawVLine(g, x, 0, tableHeight - 1);
+            if (scrollPaneRtl && scrollVisible) {
+                PaintUtil.appendVLine(gridLines, x, 0, tableHeight - 1);
             }
             if (ltr) {
                 for (int column = cMin; column <= cMax; column++) {
                     int w = cm.getColumn(column).getWidth();
                     x += w;
                     if (showVerticalLine(true, scrollVisible, !scrollPaneRtl, column, draggedIndex, cMin, cMax)) {
-                        PaintUtil.drawVLine(g, x - 1, 0, tableHeight - 1);
+                        PaintUtil.appendVLine(gridLines, x - 1, 0, tableHeight - 1);
                     }
                 }
             } else {
@@ -294,11 +318,15 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
                     int w = cm.getColumn(column).getWidth();
                     x += w;
                     if (showVerticalLine(false, scrollVisible, !scrollPaneRtl, column, draggedIndex, cMin, cMax)) {
-                        PaintUtil.drawVLine(g, x - 1, 0, tableHeight - 1);
+                        PaintUtil.appendVLine(gridLines, x - 1, 0, tableHeight - 1);
                     }
                 }
             }
         }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setColor(table.getGridColor());
+        g2.fill(gridLines);
     }
 
     protected boolean isScrollPaneRtl() {
@@ -435,6 +463,13 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
         }
     }
 
+    @Override
+    public void update(final Graphics g, final JComponent c) {
+        try (CleanupTask ignored = PaintProfiler.begin(c)) {
+            super.update(g, c);
+        }
+    }
+
     @Override
     public void paint(final Graphics g, final JComponent c) {
         /*
@@ -450,7 +485,10 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
                 c.repaint(r);
             }
         }
-        super.paint(g, c);
+        if (cellRasterCache != null) cellRasterCache.beginPaint(g);
+        try (CleanupTask ignored = CellPaintContext.begin(table, KEY_ALTERNATE_ROW_COLOR)) {
+            super.paint(g, c);
+        }
     }
 
     public static boolean ignoreKeyCodeOnEdit(final KeyEvent event, final JTable table) {
@@ -513,14 +551,22 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             Component component = table.getEditorComponent();
             component.setBounds(x, y, w, h);
             component.validate();
+        } else if (cellRasterCache != null) {
+            cellRasterCache.paintCell(g, row, column, x, y, w, h,
+                    (cg, cx, cy, cw, ch) -> paintRenderer(cg, row, column, cx, cy, cw, ch));
         } else {
-            TableCellRenderer renderer = getCellRenderer(row, column);
-            Component component = table.prepareRenderer(renderer, row, column);
-            CellUtil.setSelectedFlag(component, table.isCellSelected(row, column));
-            rendererPane.paintComponent(g, component, table, x, y, w, h, true);
+            paintRenderer(g, row, column, x, y, w, h);
         }
     }
 
+    protected void paintRenderer(final Graphics g, final int row, final int column, final int x, final int y,
+            final int w, final int h) {
+        TableCellRenderer renderer = getCellRenderer(row, column);
+        Component component = table.prepareRenderer(renderer, row, column);
+        CellUtil.setSelectedFlag(component, table.isCellSelected(row, column));
+        rendererPane.paintComponent(g, component, table, x, y, w, h, true);
+    }
+
     protected TableCellRenderer getCellRenderer(final int row, final int column) {
         TableCellRenderer renderer = table.getCellRenderer(row, column);
         if (renderer instanceof DarkTableCellRendererDelegate) return renderer;
@@ -613,7 +659,17 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
         public void propertyChange(final PropertyChangeEvent e) {
             super.propertyChange(e);
             String key = e.getPropertyName();
-            if (KEY_HORIZONTAL_LINES.equals(key)) {
+            if (cellRasterCache != null) {
+                // The rendered cells may depend on any property of the table.
+                cellRasterCache.invalidate();
+                if (PropertyKey.MODEL.equals(key)) {
+                    cellRasterCache.updateModel();
+                }
+            }
+            if (KEY_CELL_RASTER_CACHE.equals(key)) {
+                updateCellRasterCache();
+                table.repaint();
+            } else if (KEY_HORIZONTAL_LINES.equals(key)) {
                 boolean b = Boolean.TRUE.equals(e.getNewValue());
                 table.setRowMargin(b ? 1 : 0);
             } else if (KEY_VERTICAL_LINES.equals(key)) {
@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import static java.awt.RenderingHints.KEY_TEXT_ANTIALIASING;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableModel;
+
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.cache.LRUCache;
+
+/**
+ * Cache for the rendered contents of table cells. Cells are painted from the cache as long as the
+ * value, renderer, selection and focus state and size of the cell did not change. This allows to
+ * skip the renderer entirely for cells which aren't affected by a repaint.
+ *
+ * <p>Entries are invalidated when the table model reports a change of the corresponding cells. The
+ * cache assumes the renderer output only depends on the state mentioned above, hence it has to be
+ * enabled explicitly using {@link TableConstants#KEY_CELL_RASTER_CACHE}.
+ *
+ * <p>The capacity of the cache follows the number of visible cells. A fixed capacity below that
+ * number would evict every entry before it is painted again. Cells aren't cached if text is painted
+ * using subpixel antialiasing, as it can't be rendered into a translucent image.
+ */
+class TableCellRasterCache implements TableModelListener {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final int FLAG_SELECTED = 1;
+    private static final int FLAG_LEAD_ROW = 1 << 1;
+    private static final int FLAG_LEAD_COLUMN = 1 << 2;
+    private static final int FLAG_FOCUS = 1 << 3;
+    private static final int FLAG_ENABLED = 1 << 4;
+    private static final int FLAG_ODD_ROW = 1 << 5;
+
+    private final JTable table;
+    private LRUCache<CellPosition, CellRaster> cache = new LRUCache<>(MIN_CAPACITY);
+    private TableModel model;
+    private boolean focus;
+    private boolean lcdText;
+
+    TableCellRasterCache(final JTable table) {
+        this.table = table;
+    }
+
+    void install() {
+        model = table.getModel();
+        if (model != null) model.addTableModelListener(this);
+    }
+
+    void uninstall() {
+        if (model != null) model.removeTableModelListener(this);
+        model = null;
+        cache.clear();
+    }
+
+    void updateModel() {
+        uninstall();
+        install();
+    }
+
+    void invalidate() {
+        cache.clear();
+    }
+
+    int getCapacity() {
+        return cache.getCapacity();
+    }
+
+    /**
+     * Has to be called before the cells of a paint pass are painted.
+     *
+     * @param g the graphics the cells are painted with.
+     */
+    void beginPaint(final Graphics g) {
+        focus = DarkUIUtil.hasFocus(table);
+        lcdText = usesLcdText(g);
+        updateCapacity();
+    }
+
+    /*
+     * Keep room for the visible cells and the cells which become visible when scrolling by a viewport.
+     * The cache is only shrunk if it is considerably larger than needed.
+     */
+    private void updateCapacity() {
+        int capacity = Math.max(MIN_CAPACITY, 2 * getVisibleCellCount());
+        int current = cache.getCapacity();
+        if (capacity > current || (current > MIN_CAPACITY && 4 * capacity <= current)) {
+            cache = new LRUCache<>(capacity);
+        }
+    }
+
+    private int getVisibleCellCount() {
+        Rectangle visible = table.getVisibleRect();
+        if (visible.isEmpty()) return 0;
+        int rows = getVisibleCount(table.rowAtPoint(visible.getLocation()),
+                table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1)), table.getRowCount());
+        int firstColumn = table.columnAtPoint(visible.getLocation());
+        int lastColumn = table.columnAtPoint(new Point(visible.x + visible.width - 1, visible.y));
+        int columns = getVisibleCount(Math.min(firstColumn, lastColumn), Math.max(firstColumn, lastColumn),
+                table.getColumnCount());
+        return rows * columns;
+    }
+
+    private static int getVisibleCount(final int first, final int last, final int count) {
+        if (count == 0) return 0;
+        int start = first >= 0 ? first : 0;
+        int end = last >= 0 ? last : count - 1;
+        return Math.max(0, end - start + 1);
+    }
+
+    private boolean usesLcdText(final Graphics g) {
+        if (g instanceof Graphics2D && isLcdHint(((Graphics2D) g).getRenderingHint(KEY_TEXT_ANTIALIASING))) {
+            return true;
+        }
+        Object hint = table.getClientProperty(KEY_TEXT_ANTIALIASING);
+        if (hint == null) hint = UIManager.get(KEY_TEXT_ANTIALIASING);
+        return isLcdHint(hint);
+    }
+
+    private static boolean isLcdHint(final Object hint) {
+        return hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR;
+    }
+
+    void paintCell(final Graphics g, final int row, final int column, final int x, final int y, final int width,
+            final int height, final CellPainter painter) {
+        if (lcdText || width <= 0 || height <= 0 || !(g instanceof Graphics2D) || g instanceof PrintGraphics) {
+            painter.paint(g, x, y, width, height);
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        AffineTransform transform = g2.getTransform();
+        double scaleX = transform.getScaleX();
+        double scaleY = transform.getScaleY();
+        if ((transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) != 0
+                || scaleX <= 0 || scaleY <= 0) {
+            painter.paint(g, x, y, width, height);
+            return;
+        }
+
+        CellPosition position =
+                new CellPosition(table.convertRowIndexToModel(row), table.convertColumnIndexToModel(column));
+        Object value = table.getValueAt(row, column);
+        TableCellRenderer renderer = table.getCellRenderer(row, column);
+        int flags = getStateFlags(row, column);
+
+        CellRaster raster = cache.get(position);
+        if (raster == null || !raster.matches(value, renderer, flags, width, height, scaleX, scaleY)) {
+            BufferedImage image = renderCell(g2, width, height, scaleX, scaleY, painter);
+            raster = new CellRaster(value, renderer, flags, width, height, scaleX, scaleY, image);
+            cache.put(position, raster);
+        }
+        g2.drawImage(raster.image, x, y, width, height, null);
+    }
+
+    private int getStateFlags(final int row, final int column) {
+        int flags = 0;
+        if (table.isCellSelected(row, column)) flags |= FLAG_SELECTED;
+        if (table.getSelectionModel().getLeadSelectionIndex() == row) flags |= FLAG_LEAD_ROW;
+        if (table.getColumnModel().getSelectionModel().getLeadSelectionIndex() == column) flags |= FLAG_LEAD_COLUMN;
+        if (focus) flags |= FLAG_FOCUS;
+        if (table.isEnabled()) flags |= FLAG_ENABLED;
+        if (row % 2 == 1) flags |= FLAG_ODD_ROW;
+        return flags;
+    }
+
+    private BufferedImage renderCell(final Graphics2D g, final int width, final int height, final double scaleX,
+            final double scaleY, final CellPainter painter) {
+        int imageWidth = (int) Math.ceil(width * scaleX);
+        int imageHeight = (int) Math.ceil(height * scaleY);
+        BufferedImage image =
+                g.getDeviceConfiguration().createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+        Graphics2D imageGraphics = image.createGraphics();
+        try {
+            imageGraphics.setRenderingHints(g.getRenderingHints());
+            imageGraphics.scale(scaleX, scaleY);
+            imageGraphics.clipRect(0, 0, width, height);
+            imageGraphics.setFont(g.getFont());
+            imageGraphics.setColor(g.getColor());
+            painter.paint(imageGraphics, 0, 0, width, height);
+        } finally {
+            imageGraphics.dispose();
+        }
+        return image;
+    }
+
+    @Override
+    public void tableChanged(final TableModelEvent e) {
+        int firstRow = e.getFirstRow();
+        int lastRow = e.getLastRow();
+        if (e.getType() != TableModelEvent.UPDATE || firstRow == TableModelEvent.HEADER_ROW
+                || lastRow == Integer.MAX_VALUE) {
+            // Rows have been shifted or the whole table changed.
+            cache.clear();
+            return;
+        }
+        int column = e.getColumn();
+        cache.removeIf(p -> p.row >= firstRow && p.row <= lastRow
+                && (column == TableModelEvent.ALL_COLUMNS || p.column == column));
+    }
+
+    interface CellPainter {
+
+        void paint(final Graphics g, final int x, final int y, final int width, final int height);
+    }
+
+    private static final class CellPosition {
+        private final int row;
+        private final int column;
+
+        private CellPosition(final int row, final int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CellPosition that = (CellPosition) o;
+            return row == that.row && column == that.column;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * row + column;
+        }
+    }
+
+    private static final class CellRaster {
+        private final Object value;
+        private final TableCellRenderer renderer;
+        private final int flags;
+        private final int width;
+        private final int height;
+        private final double scaleX;
+        private final double scaleY;
+        private final BufferedImage image;
+
+        private CellRaster(final Object value, final TableCellRenderer renderer, final int flags, final int width,
+                final int height, final double scaleX, final double scaleY, final BufferedImage image) {
+            this.value = value;
+            this.renderer = renderer;
+            this.flags = flags;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.image = image;
+        }
+
+        private boolean matches(final Object value, final TableCellRenderer renderer, final int flags,
+                final int width, final int height, final double scaleX, final double scaleY) {
+            return this.renderer == renderer
+                    && this.flags == flags
+                    && this.width == width
+                    && this.height == height
+                    && this.scaleX == scaleX
+                    && this.scaleY == scaleY
+                    && Objects.equals(this.value, value);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.text;
+
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.plaf.UIResource;
+import javax.swing.text.*;
+
+import com.github.weisj.darklaf.util.PropertyKey;
+
+/**
+ * Caches the view location of the caret of a text component. The caret location is queried by the caret itself,
+ * the current line highlight and the numbering pane on every paint e.g. each time the caret blinks. Translating
+ * the location may trigger the views to lay out again, hence it is only done once per caret or document change.
+ * <p>
+ * Views may also move lines without a document change e.g. if an embedded component changes its size. The root
+ * view reports this by revalidating the text component, which is observed through its layout manager. Hence the
+ * cache has to be installed after the ui has installed its layout manager.
+ * <p>
+ * The cache is installed by {@link DarkTextUI}. For other components the location is computed directly.
+ */
+public final class CaretGeometryCache {
+
+    private static final String KEY_CACHE = "JTextComponent.caretGeometryCache";
+
+    private final JTextComponent textComponent;
+    private final Handler handler = new Handler();
+    private final Rectangle[] bounds = new Rectangle[2];
+    private final int[] offsets = new int[] {-1, -1};
+    private Caret caret;
+    private Document document;
+    private LayoutHandler layoutHandler;
+
+    private CaretGeometryCache(final JTextComponent textComponent) {
+        this.textComponent = textComponent;
+    }
+
+    public static void install(final JTextComponent c) {
+        if (getCache(c) != null) return;
+        CaretGeometryCache cache = new CaretGeometryCache(c);
+        c.putClientProperty(KEY_CACHE, cache);
+        c.addPropertyChangeListener(cache.handler);
+        c.addComponentListener(cache.handler);
+        cache.setCaret(c.getCaret());
+        cache.setDocument(c.getDocument());
+        LayoutManager layout = c.getLayout();
+        if (layout instanceof LayoutManager2 && layout instanceof UIResource) {
+            cache.layoutHandler = cache.new LayoutHandler((LayoutManager2) layout);
+            c.setLayout(cache.layoutHandler);
+        }
+    }
+
+    public static void uninstall(final JTextComponent c) {
+        CaretGeometryCache cache = getCache(c);
+        if (cache == null) return;
+        c.removePropertyChangeListener(cache.handler);
+        c.removeComponentListener(cache.handler);
+        cache.setCaret(null);
+        cache.setDocument(null);
+        if (cache.layoutHandler != null && c.getLayout() == cache.layoutHandler) {
+            c.setLayout(cache.layoutHandler.delegate);
+        }
+        cache.layoutHandler = null;
+        c.putClientProperty(KEY_CACHE, null);
+    }
+
+    /**
+     * Returns the location of the caret using a forward bias.
+     *
+     * @param c the text component.
+     * @return the location of the caret or null if the component hasn't been sized yet.
+     * @throws BadLocationException if the caret position isn't valid.
+     * @see JTextComponent#modelToView(int)
+     */
+    public static Rectangle getCaretBounds(final JTextComponent c) throws BadLocationException {
+        return modelToView(c, c.getCaretPosition(), Position.Bias.Forward);
+    }
+
+    /**
+     * Converts the given offset to view coordinates. If the offset is the position of the caret a cached value
+     * is used if possible.
+     *
+     * @param c the text component.
+     * @param offset the offset.
+     * @param bias the bias.
+     * @return the location of the offset or null if the component hasn't been sized yet. The returned rectangle
+     *         may be modified freely.
+     * @throws BadLocationException if the offset isn't valid.
+     */
+    public static Rectangle modelToView(final JTextComponent c, final int offset, final Position.Bias bias)
+            throws BadLocationException {
+        CaretGeometryCache cache = getCache(c);
+        Caret caret = c.getCaret();
+        if (cache == null || caret == null || caret.getDot() != offset) {
+            return c.getUI().modelToView(c, offset, bias);
+        }
+        int index = bias == Position.Bias.Backward ? 1 : 0;
+        if (cache.offsets[index] != offset || cache.bounds[index] == null) {
+            Rectangle r = c.getUI().modelToView(c, offset, bias);
+            if (r == null) return null;
+            cache.bounds[index] = r;
+            cache.offsets[index] = offset;
+        }
+        return new Rectangle(cache.bounds[index]);
+    }
+
+    private static CaretGeometryCache getCache(final JTextComponent c) {
+        Object cache = c.getClientProperty(KEY_CACHE);
+        return cache instanceof CaretGeometryCache ? (CaretGeometryCache) cache : null;
+    }
+
+    private void invalidate() {
+        bounds[0] = null;
+        bounds[1] = null;
+        offsets[0] = -1;
+        offsets[1] = -1;
+    }
+
+    private void setCaret(final Caret newCaret) {
+        if (caret != null) caret.removeChangeListener(handler);
+        caret = newCaret;
+        if (caret != null) caret.addChangeListener(handler);
+        invalidate();
+    }
+
+    private void setDocument(final Document newDocument) {
+        if (document != null) document.removeDocumentListener(handler);
+        document = newDocument;
+        if (document != null) document.addDocumentListener(handler);
+        invalidate();
+    }
+
+    private class Handler extends ComponentAdapter implements ChangeListener, DocumentListener, PropertyChangeListener {
+
+        @Override
+        public void stateChanged(final ChangeEvent e) {
+            invalidate();
+        }
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            invalidate();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            invalidate();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            invalidate();
+        }
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+            invalidate();
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            String key = evt.getPropertyName();
+            if (PropertyKey.DOCUMENT.equals(key)) {
+                setDocument(textComponent.getDocument());
+            } else if (PropertyKey.CARET.equals(key)) {
+                setCaret(textComponent.getCaret());
+            } else {
+                // Fonts, borders, margins etc. may all change the layout.
+                invalidate();
+            }
+        }
+    }
+
+    /*
+     * Delegates to the layout manager of the ui. Revalidating the text component invalidates its layout.
+     */
+    private final class LayoutHandler implements LayoutManager2, UIResource {
+
+        private final LayoutManager2 delegate;
+
+        private LayoutHandler(final LayoutManager2 delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void invalidateLayout(final Container target) {
+            invalidate();
+            delegate.invalidateLayout(target);
+        }
+
+        @Override
+        public void addLayoutComponent(final Component comp, final Object constraints) {
+            delegate.addLayoutComponent(comp, constraints);
+        }
+
+        @Override
+        public void addLayoutComponent(final String name, final Component comp) {
+            delegate.addLayoutComponent(name, comp);
+        }
+
+        @Override
+        public void removeLayoutComponent(final Component comp) {
+            delegate.removeLayoutComponent(comp);
+        }
+
+        @Override
+        public Dimension maximumLayoutSize(final Container target) {
+            return delegate.maximumLayoutSize(target);
+        }
+
+        @Override
+        public Dimension preferredLayoutSize(final Container parent) {
+            return delegate.preferredLayoutSize(parent);
+        }
+
+        @Override
+        public Dimension minimumLayoutSize(final Container parent) {
+            return delegate.minimumLayoutSize(parent);
+        }
+
+        @Override
+        public float getLayoutAlignmentX(final Container target) {
+            return delegate.getLayoutAlignmentX(target);
+        }
+
+        @Override
+        public float getLayoutAlignmentY(final Container target) {
+            return delegate.getLayoutAlignmentY(target);
+        }
+
+        @Override
+        public void layoutContainer(final Container parent) {
+            delegate.layoutContainer(parent);
+        }
+    }
+}
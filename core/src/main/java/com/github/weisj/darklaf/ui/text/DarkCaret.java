@@ -28,7 +28,6 @@ import java.awt.event.MouseEvent;
 import java.util.logging.Logger;
 
 import javax.swing.*;
-import javax.swing.plaf.TextUI;
 import javax.swing.plaf.UIResource;
 import javax.swing.text.*;
 import javax.swing.text.DefaultHighlighterDark.DarkHighlightPainter;
@@ -359,13 +358,13 @@ public class DarkCaret extends DefaultCaret implements UIResource {
         if (isVisible()) {
             JTextComponent textArea = getComponent();
             g.setColor(textArea.getCaretColor());
-            TextUI mapper = textArea.getUI();
             Rectangle r;
             try {
-                r = mapper.modelToView(textArea, getDot(), getDotBias());
+                r = CaretGeometryCache.modelToView(textArea, getDot(), getDotBias());
             } catch (final BadLocationException ex) {
                 r = new Rectangle(0, 0, 0, 0);
             }
+            if (r == null) return;
             validateWidth(r);
 
             if (width > 0 && height > 0 && !contains(r.x, r.y, r.width, r.height)) {
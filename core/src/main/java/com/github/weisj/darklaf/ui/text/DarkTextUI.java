@@ -394,6 +394,13 @@ public abstract class DarkTextUI extends BasicTextUI implements OpacityBufferedU
         }
         super.installUI(c);
         installDarkKeyBoardActions();
+        CaretGeometryCache.install(editor);
+    }
+
+    @Override
+    public void uninstallUI(final JComponent c) {
+        CaretGeometryCache.uninstall(editor);
+        super.uninstallUI(c);
     }
 
     @Override
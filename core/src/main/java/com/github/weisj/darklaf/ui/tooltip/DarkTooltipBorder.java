@@ -60,6 +60,10 @@ public class DarkTooltipBorder implements Border, AlignableTooltipBorder {
         Color shadowColor = UIManager.getColor("ToolTip.borderShadowColor");
         shadowBorder = new DropShadowBorder(shadowColor, shadowSize, opacity, borderRadius);
         paintShadow = UIManager.getBoolean("ToolTip.paintShadow");
+        if (paintShadow) {
+            // Avoid computing the shadow when the first tooltip is shown.
+            shadowBorder.prewarm();
+        }
     }
 
     public Shape[] getBackgroundShapes(final Component c, final int width, final int height) {
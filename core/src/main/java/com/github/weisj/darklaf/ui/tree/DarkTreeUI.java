@@ -36,16 +36,19 @@ import javax.swing.tree.TreeCellEditor;
 import javax.swing.tree.TreeCellRenderer;
 import javax.swing.tree.TreePath;
 
+import com.github.weisj.darklaf.graphics.PaintProfiler;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.properties.icons.RotatableIcon;
 import com.github.weisj.darklaf.ui.HasRendererPane;
 import com.github.weisj.darklaf.ui.cell.CellConstants;
+import com.github.weisj.darklaf.ui.cell.CellPaintContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
 import com.github.weisj.darklaf.ui.cell.hint.CellHintPopupListener;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 import com.github.weisj.darklaf.util.SystemInfo;
+import com.github.weisj.darklaf.util.value.CleanupTask;
 
 /**
  * @author Konstantin Bulenkov
@@ -95,6 +98,9 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     private int dashLength;
     private int dashGapLength;
     private DarkTreeExpansionAnimationListener treeExpansionAnimationListener;
+    /** Leg state shared by all rows painted during the current paint pass. */
+    private VerticalLegState legState;
+    private boolean unselectedRowsDependOnFocus;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTreeUI();
@@ -149,6 +155,16 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         LookAndFeel.installProperty(tree, JTree.SHOWS_ROOT_HANDLES_PROPERTY, true);
         dashLength = UIManager.getInt("Tree.dash.length");
         dashGapLength = UIManager.getInt("Tree.dash.gaplength");
+        unselectedRowsDependOnFocus = dependsOnFocus("Tree.background", "Tree.backgroundNoFocus")
+                || dependsOnFocus("Tree.backgroundAlternative", "Tree.backgroundNoFocusAlternative")
+                || dependsOnFocus("Tree.foreground", "Tree.foregroundNoFocus")
+                || dependsOnFocus("Tree.inactiveBackground", "Tree.inactiveBackgroundNoFocus")
+                || dependsOnFocus("Tree.inactiveBackgroundAlternative", "Tree.inactiveBackgroundNoFocusAlternative")
+                || dependsOnFocus("Tree.inactiveForeground", "Tree.inactiveForegroundNoFocus");
+    }
+
+    private static boolean dependsOnFocus(final String key, final String noFocusKey) {
+        return !Objects.equals(UIManager.getColor(key), UIManager.getColor(noFocusKey));
     }
 
     @Override
@@ -194,7 +210,7 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
 
             @Override
             public void focusGained(final FocusEvent e) {
-                tree.repaint();
+                repaintFocusDependentRows();
             }
 
             @Override
@@ -202,12 +218,45 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
                 boolean focused = hasFocus(e != null ? e.getOppositeComponent() : null);
                 if (!focused) {
                     tree.stopEditing();
-                    tree.repaint();
+                    repaintFocusDependentRows();
                 }
             }
         };
     }
 
+    /*
+     * With the default colors only selected rows, the lead row and the highlighted legs depend on the focus
+     * state. Repaint the visible rows containing them. If the theme uses different colors for unselected rows
+     * without focus all rows are repainted. Renderers which paint focus dependent content on their own are
+     * expected to repaint themselves.
+     */
+    protected void repaintFocusDependentRows() {
+        if (unselectedRowsDependOnFocus || treeState == null) {
+            tree.repaint();
+            return;
+        }
+        Rectangle visible = tree.getVisibleRect();
+        int firstRow = tree.getClosestRowForLocation(visible.x, visible.y);
+        int lastRow = tree.getClosestRowForLocation(visible.x, visible.y + visible.height - 1);
+        if (firstRow < 0) return;
+        TreePath highlightedPath = tree.isEditing() ? tree.getEditingPath() : tree.getSelectionPath();
+        if (highlightedPath != null && !tree.isExpanded(highlightedPath)) {
+            highlightedPath = highlightedPath.getParentPath();
+        }
+        int leadRow = tree.getLeadSelectionRow();
+        int width = tree.getWidth();
+        for (int row = firstRow; row <= lastRow; row++) {
+            TreePath path = getPathForRow(tree, row);
+            if (path == null) continue;
+            boolean highlightedLeg = highlightedPath != null && highlightedPath.isDescendant(path)
+                    && path.getPathCount() > highlightedPath.getPathCount();
+            if (highlightedLeg || row == leadRow || tree.isRowSelected(row)) {
+                Rectangle r = getPathBounds(tree, path);
+                if (r != null) tree.repaint(0, r.y, width, r.height);
+            }
+        }
+    }
+
     protected boolean hasFocus() {
         return hasFocus(null);
     }
@@ -286,15 +335,20 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         if (initialPath != null && paintingEnumerator != null) {
             int row = treeState.getRowForPath(initialPath);
 
-            boolean done = false;
-            while (!done && paintingEnumerator.hasMoreElements()) {
-                TreePath path = (TreePath) paintingEnumerator.nextElement();
-                Rectangle cellBounds = paintSingleRow(g, paintBounds, insets, path, row);
-                if (cellBounds == null
-                        || (cellBounds.y + cellBounds.height) >= paintBounds.y + paintBounds.height) {
-                    done = true;
+            legState = shouldPaintLines() ? new VerticalLegState(insets) : null;
+            try (CleanupTask ignored = CellPaintContext.begin(tree, KEY_ALTERNATE_ROW_COLOR)) {
+                boolean done = false;
+                while (!done && paintingEnumerator.hasMoreElements()) {
+                    TreePath path = (TreePath) paintingEnumerator.nextElement();
+                    Rectangle cellBounds = paintSingleRow(g, paintBounds, insets, path, row);
+                    if (cellBounds == null
+                            || (cellBounds.y + cellBounds.height) >= paintBounds.y + paintBounds.height) {
+                        done = true;
+                    }
+                    row++;
                 }
-                row++;
+            } finally {
+                legState = null;
             }
         }
         paintDropLine(g);
@@ -367,33 +421,30 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     }
 
     /*
-     * Paint all vertical legs for the whole tree in this row.
+     * Paint all vertical legs for the whole tree in this row. The x positions of the legs are shared by all rows
+     * of a paint pass.
      */
     protected void paintVerticalLegs(final Graphics g, final Rectangle clipBounds, final Rectangle rowBounds,
             final Insets insets, final TreePath path) {
-        if (!shouldPaintLines()) return;
+        VerticalLegState state = legState;
+        if (state == null) {
+            if (!shouldPaintLines()) return;
+            state = new VerticalLegState(insets);
+        }
         int depth = path.getPathCount() - 1;
-        if (depth == 0 && (!isRootVisible() || !getShowsRootHandles())) {
+        if (depth == 0 && (!state.rootVisible || !getShowsRootHandles())) {
             // Parent is the root, which isn't visible.
             return;
         }
         int clipLeft = clipBounds.x;
         int clipRight = clipBounds.x + (clipBounds.width - 1);
+        int minDepth = state.rootVisible ? 0 : 1;
 
         TreePath parentPath = path;
-        for (int currentDepth = depth - 1; currentDepth >= 0; currentDepth--) {
-            if (currentDepth == 0 && !isRootVisible()) continue;
-
-            int lineX = getRowX(-1, currentDepth);
-            if (tree.getComponentOrientation().isLeftToRight()) {
-                lineX = lineX - getRightChildIndent() + insets.left;
-            } else {
-                lineX = tree.getWidth() - lineX - insets.right + getRightChildIndent() - 1;
-            }
-
-            if (lineX > clipRight || lineX < clipLeft) continue;
-
+        for (int currentDepth = depth - 1; currentDepth >= minDepth; currentDepth--) {
             parentPath = parentPath.getParentPath();
+            int lineX = state.getLineX(currentDepth);
+            if (lineX > clipRight || lineX < clipLeft) continue;
             g.setColor(getLineColor(parentPath));
             paintVerticalLine(g, tree, lineX, rowBounds.y, rowBounds.y + rowBounds.height);
         }
@@ -428,7 +479,9 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     @Override
     public void update(final Graphics g, final JComponent c) {
         if (popupListener != null) popupListener.repaint();
-        super.update(g, c);
+        try (CleanupTask ignored = PaintProfiler.begin(c)) {
+            super.update(g, c);
+        }
     }
 
     public CellHintPopupListener<JTree, ?> getPopupListener() {
@@ -819,6 +872,42 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         }
     }
 
+    /**
+     * Geometry of the vertical legs, computed once for all rows painted in a single pass.
+     */
+    private final class VerticalLegState {
+
+        private final Insets insets;
+        private final boolean leftToRight;
+        private final boolean rootVisible;
+        private int[] lineX = new int[0];
+
+        private VerticalLegState(final Insets insets) {
+            this.insets = insets;
+            this.leftToRight = tree.getComponentOrientation().isLeftToRight();
+            this.rootVisible = isRootVisible();
+        }
+
+        private int getLineX(final int depth) {
+            if (depth >= lineX.length) {
+                int oldLength = lineX.length;
+                int[] newLineX = new int[Math.max(depth + 1, 2 * oldLength)];
+                System.arraycopy(lineX, 0, newLineX, 0, oldLength);
+                for (int d = oldLength; d < newLineX.length; d++) {
+                    int x = getRowX(-1, d);
+                    if (leftToRight) {
+                        x = x - getRightChildIndent() + insets.left;
+                    } else {
+                        x = tree.getWidth() - x - insets.right + getRightChildIndent() - 1;
+                    }
+                    newLineX[d] = x;
+                }
+                lineX = newLineX;
+            }
+            return lineX[depth];
+        }
+    }
+
     private class DarkTreeMouseListener extends MouseAdapter {
         boolean handled = false;
 
@@ -22,10 +22,10 @@ package javax.swing.text.DefaultHighlighterDark;
 
 import java.awt.*;
 import java.awt.font.TextAttribute;
-import java.awt.geom.Arc2D;
-import java.awt.geom.Area;
-import java.awt.geom.Rectangle2D;
+import java.awt.geom.Path2D;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.*;
 import javax.swing.text.*;
@@ -47,6 +47,12 @@ import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
  */
 public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPainter {
 
+    /*
+     * Corner masks only depend on the arc size, which is the same for all painters unless the
+     * defaults change.
+     */
+    private static final Map<Integer, Shape[]> CORNER_MASKS = new ConcurrentHashMap<>();
+
     private Paint paint;
     private Color color;
     private final HighlighterColor wrapper;
@@ -541,32 +547,41 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
     }
 
     private Shape getArc(final Alignment a) {
-        Shape arc = arcs[getIndex(a)];
-        if (arc == null) {
-            Area arcArea = new Area(new Rectangle2D.Double(0, 0, arcSize, arcSize));
-            arcArea.subtract(new Area(getSubtractShape(a)));
-            arc = arcArea;
-            arcs[getIndex(a)] = arc;
+        if (arcs[0] == null) {
+            Shape[] masks = CORNER_MASKS.computeIfAbsent(arcSize, DarkHighlightPainter::createCornerMasks);
+            System.arraycopy(masks, 0, arcs, 0, arcs.length);
         }
-        return arc;
+        return arcs[getIndex(a)];
     }
 
-    private Shape getSubtractShape(final Alignment a) {
-        switch (a) {
-            case NORTH_EAST:
-                return new Arc2D.Double(0, 0, 2 * arcSize, 2 * arcSize, 90, 90, Arc2D.PIE);
-            case NORTH_WEST:
-                return new Arc2D.Double(-arcSize, 0, 2 * arcSize, 2 * arcSize, 0, 90, Arc2D.PIE);
-            case SOUTH_EAST:
-                return new Arc2D.Double(0, -arcSize, 2 * arcSize, 2 * arcSize, 180, 90, Arc2D.PIE);
-            case SOUTH_WEST:
-                return new Arc2D.Double(-arcSize, -arcSize, 2 * arcSize, 2 * arcSize, 270, 90, Arc2D.PIE);
-            default:
-                return new Rectangle();
-        }
+    private static Shape[] createCornerMasks(final int arcSize) {
+        Shape[] masks = new Shape[4];
+        masks[getIndex(Alignment.NORTH_EAST)] = createCornerMask(arcSize, arcSize, arcSize);
+        masks[getIndex(Alignment.NORTH_WEST)] = createCornerMask(arcSize, 0, arcSize);
+        masks[getIndex(Alignment.SOUTH_EAST)] = createCornerMask(arcSize, arcSize, 0);
+        masks[getIndex(Alignment.SOUTH_WEST)] = createCornerMask(arcSize, 0, 0);
+        return masks;
     }
 
-    private int getIndex(final Alignment a) {
+    /*
+     * The part of the square [0, arcSize]^2 outside of the circle with radius arcSize around the given
+     * corner of the square. The quarter circle is approximated by a cubic bezier curve.
+     */
+    private static Shape createCornerMask(final int arcSize, final int centerX, final int centerY) {
+        double kappa = 0.5522847498;
+        int cornerX = arcSize - centerX;
+        int cornerY = arcSize - centerY;
+        Path2D path = new Path2D.Float(Path2D.WIND_NON_ZERO, 5);
+        path.moveTo(cornerX, cornerY);
+        path.lineTo(centerX, cornerY);
+        path.curveTo(centerX + kappa * (cornerX - centerX), cornerY,
+                cornerX, centerY + kappa * (cornerY - centerY),
+                cornerX, centerY);
+        path.closePath();
+        return path;
+    }
+
+    private static int getIndex(final Alignment a) {
         switch (a) {
             case NORTH_EAST:
                 return 0;
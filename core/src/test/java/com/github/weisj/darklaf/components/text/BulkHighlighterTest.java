@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import javax.swing.JTextArea;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkHighlighterTest {
+
+    private PlainDocument document;
+    private BulkHighlighter highlighter;
+
+    @BeforeEach
+    void setup() throws BadLocationException {
+        document = new PlainDocument();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        document.insertString(0, builder.toString(), null);
+        highlighter = new BulkHighlighter();
+        highlighter.install(new JTextArea(document));
+    }
+
+    @Test
+    void testUnsortedChunksAreMerged() {
+        highlighter.addHighlights(new int[] {20, 40}, new int[] {30, 50}, 2);
+        highlighter.addHighlights(new int[] {60, 0, 25, 99}, new int[] {70, 5, 45, 99}, 3);
+        assertRanges(0, 5, 20, 50, 60, 70);
+
+        highlighter.addHighlights(new int[] {5, 70}, new int[] {10, 80}, 2);
+        assertRanges(0, 5, 5, 10, 20, 50, 60, 70, 70, 80);
+
+        highlighter.setHighlights(new int[] {50, 10, 12}, new int[] {60, 20, 15}, 3);
+        assertRanges(10, 20, 50, 60);
+    }
+
+    @Test
+    void testEmptyRanges() throws BadLocationException {
+        highlighter.setHighlights(new int[] {30, 10, 10, 20}, new int[] {30, 10, 15, 20}, 4);
+        assertRanges(10, 10, 10, 15, 20, 20, 30, 30);
+        Assertions.assertEquals(2, highlighter.getHighlightIndex(15));
+        Assertions.assertEquals(2, highlighter.getHighlightIndex(19));
+        Assertions.assertEquals(4, highlighter.getHighlightIndex(30));
+
+        document.insertString(20, "xyz", null);
+        assertRanges(10, 10, 10, 15, 23, 23, 33, 33);
+
+        document.remove(22, 2);
+        assertRanges(10, 10, 10, 15, 31, 31);
+
+        document.remove(31, 1);
+        assertRanges(10, 10, 10, 15, 31, 31);
+    }
+
+    @Test
+    void testInsertAtRangeBoundaries() throws BadLocationException {
+        highlighter.setHighlights(new int[] {10, 30}, new int[] {20, 40}, 2);
+
+        document.insertString(10, "xyz", null);
+        assertRanges(13, 23, 33, 43);
+
+        document.insertString(23, "xyz", null);
+        assertRanges(13, 23, 36, 46);
+
+        document.insertString(15, "xyz", null);
+        assertRanges(13, 26, 39, 49);
+
+        document.insertString(0, "xyz", null);
+        assertRanges(16, 29, 42, 52);
+    }
+
+    @Test
+    void testRemoveOverlappingRanges() throws BadLocationException {
+        highlighter.setHighlights(new int[] {10, 30, 50, 70}, new int[] {20, 40, 60, 80}, 4);
+
+        document.remove(15, 20);
+        assertRanges(30, 40, 50, 60);
+
+        document.remove(60, 5);
+        assertRanges(30, 40, 50, 60);
+
+        document.remove(25, 5);
+        assertRanges(25, 35, 45, 55);
+
+        document.remove(0, document.getLength());
+        Assertions.assertEquals(0, highlighter.getHighlightCount());
+    }
+
+    @Test
+    void testInvalidRange() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> highlighter.addHighlight(10, 5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> highlighter.addHighlight(-1, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> highlighter.getHighlightStart(0));
+    }
+
+    private void assertRanges(final int... ranges) {
+        int[] actual = new int[2 * highlighter.getHighlightCount()];
+        for (int i = 0; i < highlighter.getHighlightCount(); i++) {
+            actual[2 * i] = highlighter.getHighlightStart(i);
+            actual[2 * i + 1] = highlighter.getHighlightEnd(i);
+        }
+        Assertions.assertArrayEquals(ranges, actual);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.GapContent;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PositionIndexTest {
+
+    @Test
+    void testRangeQuery() throws BadLocationException {
+        PlainDocument doc = createDocument(100);
+        PositionIndex<String> index = new PositionIndex<>();
+        for (int offset : new int[] {50, 10, 30, 20, 70}) {
+            index.put(doc.createPosition(offset), "p" + offset);
+        }
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertIterableEquals(listOf("p10", "p20", "p30"), valuesInRange(index, 0, 30));
+        Assertions.assertIterableEquals(listOf("p20", "p30", "p50"), valuesInRange(index, 11, 69));
+        Assertions.assertTrue(valuesInRange(index, 71, 100).isEmpty());
+    }
+
+    @Test
+    void testPositionsFollowEdits() throws BadLocationException {
+        PlainDocument doc = createDocument(100);
+        PositionIndex<String> index = new PositionIndex<>();
+        Position position = doc.createPosition(40);
+        index.put(position, "p");
+        doc.insertString(0, "0123456789", null);
+        Assertions.assertTrue(valuesInRange(index, 0, 45).isEmpty());
+        Assertions.assertIterableEquals(listOf("p"), valuesInRange(index, 50, 50));
+        Assertions.assertEquals("p", index.remove(position));
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertTrue(valuesInRange(index, 0, 200).isEmpty());
+    }
+
+    @Test
+    void testReorderedPositions() {
+        /*
+         * Undoing a removal may move restored positions past positions which have been created at the collapse
+         * point. Simulate this directly as it depends on how the document content shares its marks.
+         */
+        PositionIndex<String> index = new PositionIndex<>();
+        MovablePosition a = new MovablePosition(5);
+        MovablePosition b = new MovablePosition(5);
+        MovablePosition marker = new MovablePosition(5);
+        index.put(a, "a");
+        index.put(b, "b");
+        index.put(marker, "marker");
+
+        a.offset = 10;
+        b.offset = 20;
+        index.invalidateOrder();
+        Assertions.assertIterableEquals(listOf("marker"), valuesInRange(index, 0, 6));
+        Assertions.assertIterableEquals(listOf("marker", "a", "b"), valuesInRange(index, 0, 100));
+        Assertions.assertEquals("marker", index.remove(marker));
+        Assertions.assertIterableEquals(listOf("a", "b"), valuesInRange(index, 0, 100));
+        index.put(new MovablePosition(15), "c");
+        Assertions.assertIterableEquals(listOf("a", "c", "b"), valuesInRange(index, 0, 100));
+    }
+
+    private static PlainDocument createDocument(final int length) throws BadLocationException {
+        return createDocument(new GapContent(), length);
+    }
+
+    private static PlainDocument createDocument(final AbstractDocument.Content content, final int length)
+            throws BadLocationException {
+        PlainDocument doc = new PlainDocument(content);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        doc.insertString(0, builder.toString(), null);
+        return doc;
+    }
+
+    private static List<String> valuesInRange(final PositionIndex<String> index, final int start, final int end) {
+        return index.entriesInRange(start, end).stream().map(Map.Entry::getValue).collect(Collectors.toList());
+    }
+
+    private static final class MovablePosition implements Position {
+        private int offset;
+
+        private MovablePosition(final int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public int getOffset() {
+            return offset;
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> listOf(final T... values) {
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SearchHistoryTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEscapedEntriesAreRestored() throws IOException {
+        Path file = tempDir.resolve("history");
+        List<String> entries = Arrays.asList("plain", "back\\slash", "two\nlines", "carriage\rreturn", "\\n");
+        SearchHistory history = new SearchHistory(10, file, DIRECT);
+        entries.forEach(history::add);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assertions.assertEquals(entries.size(), lines.size());
+        Assertions.assertIterableEquals(entries, new SearchHistory(10, file, DIRECT).getEntries());
+    }
+
+    @Test
+    void testFileIsCompacted() throws IOException {
+        Path file = tempDir.resolve("nested").resolve("history");
+        SearchHistory history = new SearchHistory(3, file, DIRECT);
+        for (int i = 0; i < 100; i++) {
+            history.add("entry" + i % 5);
+        }
+        Assertions.assertIterableEquals(Arrays.asList("entry2", "entry3", "entry4"), history.getEntries());
+        Assertions.assertTrue(Files.readAllLines(file, StandardCharsets.UTF_8).size() < 32);
+
+        SearchHistory reloaded = new SearchHistory(3, file, DIRECT);
+        Assertions.assertIterableEquals(history.getEntries(), reloaded.getEntries());
+        reloaded.add("entry3");
+        Assertions.assertIterableEquals(Arrays.asList("entry2", "entry4", "entry3"),
+                new SearchHistory(3, file, DIRECT).getEntries());
+    }
+
+    @Test
+    void testReloadTrimsToCapacity() {
+        Path file = tempDir.resolve("history");
+        SearchHistory history = new SearchHistory(10, file, DIRECT);
+        for (int i = 0; i < 10; i++) {
+            history.add("entry" + i);
+        }
+        Assertions.assertIterableEquals(Arrays.asList("entry7", "entry8", "entry9"),
+                new SearchHistory(3, file, DIRECT).getEntries());
+    }
+
+    @Test
+    void testWritesHappenOnExecutor() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Path file = tempDir.resolve("history");
+        SearchHistory history = new SearchHistory(10, file, tasks::add);
+        history.add("first");
+        history.add("second");
+        history.clear();
+        history.add("third");
+        Assertions.assertFalse(Files.exists(file));
+        Assertions.assertFalse(history.flush().isDone());
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        Assertions.assertTrue(history.flush().isDone());
+        Assertions.assertIterableEquals(Arrays.asList("third"), new SearchHistory(10, file, DIRECT).getEntries());
+    }
+
+    @Test
+    void testPrefixLookupIgnoresCase() {
+        SearchHistory history = new SearchHistory(10);
+        history.add("Abc");
+        history.add("abd");
+        history.add("xyz");
+        history.add("ABE");
+        Assertions.assertIterableEquals(Arrays.asList("ABE", "abd", "Abc"), history.getEntriesWithPrefix("aB", 5));
+        Assertions.assertIterableEquals(Arrays.asList("ABE", "abd"), history.getEntriesWithPrefix("ab", 2));
+        Assertions.assertTrue(history.getEntriesWithPrefix("b", 5).isEmpty());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TextSearchEngineTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private JTextArea textArea;
+    private TextSearchEngine engine;
+
+    @BeforeEach
+    void setup() throws Exception {
+        onEdt(() -> {
+            textArea = new JTextArea("abc xyz ABC xyz aBc");
+            engine = new TextSearchEngine(textArea);
+            engine.setExecutor(tasks::add);
+        });
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        onEdt(() -> engine.dispose());
+    }
+
+    @Test
+    void testFindsAllMatches() throws Exception {
+        onEdt(() -> engine.search("abc"));
+        runTasks();
+        Assertions.assertEquals(3, engine.getMatchCount());
+        Assertions.assertFalse(engine.isSearching());
+        assertHighlights(0, 3, 8, 11, 16, 19);
+
+        onEdt(() -> engine.setCaseSensitive(true));
+        runTasks();
+        Assertions.assertEquals(1, engine.getMatchCount());
+        assertHighlights(0, 3);
+    }
+
+    @Test
+    void testMatchesArePublishedInChunks() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            builder.append("ab");
+        }
+        onEdt(() -> {
+            textArea.setText(builder.toString());
+            engine.search("Ab");
+        });
+        runTasks();
+        Assertions.assertEquals(3000, engine.getMatchCount());
+        Assertions.assertEquals(3000, engine.getHighlighter().getHighlightCount());
+        Assertions.assertEquals(5998, engine.getHighlighter().getHighlightStart(2999));
+    }
+
+    @Test
+    void testNewSearchDiscardsStaleResults() throws Exception {
+        onEdt(() -> {
+            engine.search("abc");
+            engine.search("xyz");
+        });
+        Assertions.assertEquals(2, tasks.size());
+        runTasks();
+        Assertions.assertEquals("xyz", engine.getQuery());
+        Assertions.assertEquals(2, engine.getMatchCount());
+        assertHighlights(4, 7, 12, 15);
+    }
+
+    @Test
+    void testCancelDiscardsResults() throws Exception {
+        onEdt(() -> {
+            engine.search("abc");
+            engine.cancel();
+        });
+        Assertions.assertFalse(engine.isSearching());
+        runTasks();
+        Assertions.assertEquals(0, engine.getMatchCount());
+        Assertions.assertEquals(0, engine.getHighlighter().getHighlightCount());
+        Assertions.assertFalse(engine.isSearching());
+    }
+
+    @Test
+    void testEditDiscardsRunningSearch() throws Exception {
+        onEdt(() -> engine.search("abc"));
+        onEdt(() -> {
+            try {
+                textArea.getDocument().insertString(0, "abc ", null);
+            } catch (final BadLocationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        runTasks();
+        Assertions.assertEquals(0, engine.getMatchCount());
+        Assertions.assertTrue(engine.isSearching());
+    }
+
+    private void assertHighlights(final int... ranges) {
+        BulkHighlighter highlighter = engine.getHighlighter();
+        int[] actual = new int[2 * highlighter.getHighlightCount()];
+        for (int i = 0; i < highlighter.getHighlightCount(); i++) {
+            actual[2 * i] = highlighter.getHighlightStart(i);
+            actual[2 * i + 1] = highlighter.getHighlightEnd(i);
+        }
+        Assertions.assertArrayEquals(ranges, actual);
+    }
+
+    private void runTasks() throws Exception {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        // Wait for the matches to be handed to the event dispatch thread.
+        onEdt(() -> {});
+    }
+
+    private static void onEdt(final Runnable runnable) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.treetable.model.AbstractLazyTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+import com.github.weisj.darklaf.components.treetable.model.TreeTableNode;
+
+class LazyChildLoaderTest {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final List<TableModelEvent> events = new ArrayList<>();
+    private TestModel model;
+    private JTree tree;
+    private TreeTableModelAdapter adapter;
+    private DefaultTreeTableNode directory;
+
+    private void setup(final List<?> children) throws Exception {
+        onEdt(() -> {
+            DefaultTreeTableNode root = new DefaultTreeTableNode(null, new Object[] {"root"});
+            directory = new DefaultTreeTableNode(root, new Object[] {"directory"});
+            model = new TestModel(root);
+            model.setChildren(root, Arrays.asList(directory, new DefaultTreeTableNode(root, new Object[] {"file"})));
+            model.children.put(directory, children);
+            tree = new JTree(model);
+            adapter = new TreeTableModelAdapter(model, tree);
+            LazyChildLoader loader = new LazyChildLoader(tree, model, adapter);
+            loader.setExecutor(tasks::add);
+            tree.addTreeWillExpandListener(loader);
+            adapter.addTableModelListener(events::add);
+        });
+    }
+
+    @Test
+    void testChildrenAreLoadedOnExecutor() throws Exception {
+        setup(Arrays.asList(node("a"), node("b"), node("c")));
+        onEdt(() -> tree.expandPath(directoryPath()));
+        onEdt(() -> {
+            // The placeholder is shown until the children are loaded.
+            Assertions.assertEquals(4, adapter.getRowCount());
+            Assertions.assertEquals("Loading...", String.valueOf(adapter.getValueAt(2, 0)));
+        });
+        Assertions.assertEquals(0, model.loadThreads.size());
+        Assertions.assertEquals(1, tasks.size());
+        runTasks();
+        Assertions.assertTrue(model.loadThreads.contains(Thread.currentThread()));
+        Assertions.assertFalse(model.loadedOnEdt);
+        onEdt(() -> {
+            Assertions.assertTrue(model.isLoaded(directory));
+            Assertions.assertEquals(6, adapter.getRowCount());
+            assertTableMatchesTree();
+        });
+    }
+
+    @Test
+    void testPendingLoadIsNotRepeated() throws Exception {
+        setup(Collections.singletonList(node("a")));
+        onEdt(() -> {
+            tree.expandPath(directoryPath());
+            tree.collapsePath(directoryPath());
+            tree.expandPath(directoryPath());
+        });
+        Assertions.assertEquals(1, tasks.size());
+        runTasks();
+        onEdt(() -> {
+            Assertions.assertEquals(4, adapter.getRowCount());
+            assertTableMatchesTree();
+        });
+    }
+
+    @Test
+    void testChildrenOfCollapsedNodeAreInstalledSilently() throws Exception {
+        setup(Arrays.asList(node("a"), node("b")));
+        onEdt(() -> {
+            tree.expandPath(directoryPath());
+            tree.collapsePath(directoryPath());
+            events.clear();
+        });
+        runTasks();
+        onEdt(() -> {
+            Assertions.assertTrue(model.isLoaded(directory));
+            Assertions.assertFalse(tree.isExpanded(directoryPath()));
+            Assertions.assertEquals(3, adapter.getRowCount());
+            assertTableMatchesTree();
+        });
+    }
+
+    @Test
+    void testEmptyChildrenNotifyTableOnce() throws Exception {
+        setup(Collections.emptyList());
+        onEdt(() -> {
+            tree.expandPath(directoryPath());
+            events.clear();
+        });
+        runTasks();
+        onEdt(() -> {
+            Assertions.assertTrue(model.isLeaf(directory));
+            Assertions.assertEquals(3, adapter.getRowCount());
+            Assertions.assertEquals(1, events.size());
+            assertTableMatchesTree();
+        });
+    }
+
+    @Test
+    void testChangeAlreadyPropagatedIsNotRepeated() throws Exception {
+        setup(Collections.emptyList());
+        onEdt(() -> {
+            tree.expandPath(directoryPath());
+            tree.setSelectionRow(3);
+            // Some trees notify the table through the collapse of the node once it became a leaf.
+            model.addTreeModelListener(new TreeModelListener() {
+                @Override
+                public void treeNodesChanged(final TreeModelEvent e) {}
+
+                @Override
+                public void treeNodesInserted(final TreeModelEvent e) {}
+
+                @Override
+                public void treeNodesRemoved(final TreeModelEvent e) {}
+
+                @Override
+                public void treeStructureChanged(final TreeModelEvent e) {
+                    adapter.fireTableDataChanged();
+                }
+            });
+            events.clear();
+        });
+        runTasks();
+        onEdt(() -> {
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals("file", String.valueOf(adapter.getValueAt(tree.getMinSelectionRow(), 0)));
+            assertTableMatchesTree();
+        });
+    }
+
+    @Test
+    void testLoadingFailure() throws Exception {
+        setup(null);
+        onEdt(() -> tree.expandPath(directoryPath()));
+        runTasks();
+        onEdt(() -> {
+            Assertions.assertSame(directory, model.failedNode);
+            Assertions.assertTrue(model.failure instanceof IllegalStateException);
+            Assertions.assertFalse(model.isLoaded(directory));
+        });
+    }
+
+    private TreePath directoryPath() {
+        return new TreePath(new Object[] {model.getRoot(), directory});
+    }
+
+    private void assertTableMatchesTree() {
+        Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount());
+        for (int row = 0; row < tree.getRowCount(); row++) {
+            Object node = tree.getPathForRow(row).getLastPathComponent();
+            Assertions.assertEquals(model.getValueAt(node, 0), adapter.getValueAt(row, 0));
+        }
+    }
+
+    private void runTasks() throws Exception {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+        // Wait for the results to be handed to the event dispatch thread.
+        onEdt(() -> {});
+    }
+
+    private static void onEdt(final Runnable runnable) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static DefaultTreeTableNode node(final String name) {
+        return new DefaultTreeTableNode(null, new Object[] {name});
+    }
+
+    private static final class TestModel extends AbstractLazyTreeTableModel {
+
+        private final Map<Object, List<?>> children = new HashMap<>();
+        private final Set<Thread> loadThreads = Collections.synchronizedSet(new HashSet<>());
+        private volatile boolean loadedOnEdt;
+        private Object failedNode;
+        private Throwable failure;
+
+        private TestModel(final TreeTableNode root) {
+            super(root, new String[] {"Name"});
+        }
+
+        @Override
+        protected boolean mayHaveChildren(final TreeTableNode node) {
+            return children.containsKey(node);
+        }
+
+        @Override
+        protected Object getPlaceholderValue() {
+            return "Loading...";
+        }
+
+        @Override
+        public List<?> loadChildren(final Object node) {
+            loadThreads.add(Thread.currentThread());
+            loadedOnEdt |= SwingUtilities.isEventDispatchThread();
+            List<?> result = children.get(node);
+            if (result == null) throw new IllegalStateException("Failed to load " + node);
+            return result;
+        }
+
+        @Override
+        public void loadingFailed(final Object node, final Throwable error) {
+            failedNode = node;
+            failure = error;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+import com.github.weisj.darklaf.components.treetable.model.TreeTableNode;
+
+class TreeTableModelAdapterTest {
+
+    private static final int OPERATIONS = 400;
+
+    @Test
+    void testRandomExpansionWithVisibleRoot() throws Exception {
+        for (long seed = 0; seed < 10; seed++) {
+            runRandomOperations(seed, true);
+        }
+    }
+
+    @Test
+    void testRandomExpansionWithHiddenRoot() throws Exception {
+        for (long seed = 10; seed < 20; seed++) {
+            runRandomOperations(seed, false);
+        }
+    }
+
+    private static void runRandomOperations(final long seed, final boolean rootVisible) throws Exception {
+        onEdt(() -> {
+            Random random = new Random(seed);
+            DefaultTreeTableNode root = new DefaultTreeTableNode(null, new Object[] {"root"});
+            int[] nodeCount = new int[1];
+            addRandomChildren(random, root, 4, nodeCount);
+            TestModel model = new TestModel(root);
+            JTree tree = new JTree(model);
+            tree.setRootVisible(rootVisible);
+            tree.setShowsRootHandles(true);
+            TreeTableModelAdapter adapter = new TreeTableModelAdapter(model, tree);
+            // The rows as seen by a table which only follows the fired events.
+            List<Object> tableRows = new ArrayList<>();
+            adapter.addTableModelListener(e -> applyEvent(e, adapter, tableRows));
+            reload(adapter, tableRows);
+
+            for (int i = 0; i < OPERATIONS; i++) {
+                String operation = performRandomOperation(random, tree, model, adapter, nodeCount);
+                String message = "seed " + seed + ", operation " + i + ": " + operation;
+                assertAdapterMatchesTree(message, tree, adapter, tableRows);
+            }
+        });
+    }
+
+    private static String performRandomOperation(final Random random, final JTree tree, final TestModel model,
+            final TreeTableModelAdapter adapter, final int[] nodeCount) {
+        int rowCount = tree.getRowCount();
+        int choice = random.nextInt(10);
+        if (rowCount == 0 || choice == 9) {
+            TreePath path = randomPath(random, model);
+            DefaultTreeTableNode node = (DefaultTreeTableNode) path.getLastPathComponent();
+            if (node.getChildCount() > 0 && random.nextBoolean()) {
+                node.removeChild(node.getChildAt(random.nextInt(node.getChildCount())));
+            } else {
+                addRandomChildren(random, node, 1, nodeCount);
+            }
+            model.structureChanged(path);
+            // Changes of the model aren't translated by the adapter and have to be propagated by the owner.
+            adapter.fireTableDataChanged();
+            return "structure changed " + path;
+        } else if (choice == 8) {
+            TreePath path = randomPath(random, model);
+            tree.expandPath(path);
+            return "expand path " + path;
+        } else if (choice == 7) {
+            TreePath path = randomPath(random, model);
+            tree.collapsePath(path);
+            return "collapse path " + path;
+        }
+        int row = random.nextInt(rowCount);
+        if (tree.isExpanded(row)) {
+            tree.collapseRow(row);
+            return "collapse row " + row;
+        } else {
+            tree.expandRow(row);
+            return "expand row " + row;
+        }
+    }
+
+    private static void assertAdapterMatchesTree(final String message, final JTree tree,
+            final TreeTableModelAdapter adapter, final List<Object> tableRows) {
+        Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount(), message);
+        Assertions.assertEquals(tree.getRowCount(), tableRows.size(), message);
+        for (int row = 0; row < tree.getRowCount(); row++) {
+            Object node = tree.getPathForRow(row).getLastPathComponent();
+            Assertions.assertSame(node, adapter.nodeForRow(row), message + ", row " + row);
+            Assertions.assertSame(node, tableRows.get(row), message + ", table row " + row);
+        }
+    }
+
+    private static void applyEvent(final TableModelEvent e, final TreeTableModelAdapter adapter,
+            final List<Object> tableRows) {
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+            reload(adapter, tableRows);
+            return;
+        }
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        switch (e.getType()) {
+            case TableModelEvent.INSERT:
+                for (int row = first; row <= last; row++) {
+                    tableRows.add(row, adapter.nodeForRow(row));
+                }
+                break;
+            case TableModelEvent.DELETE:
+                tableRows.subList(first, last + 1).clear();
+                break;
+            default:
+                for (int row = first; row <= last; row++) {
+                    tableRows.set(row, adapter.nodeForRow(row));
+                }
+                break;
+        }
+    }
+
+    private static void reload(final TreeTableModelAdapter adapter, final List<Object> tableRows) {
+        tableRows.clear();
+        for (int row = 0; row < adapter.getRowCount(); row++) {
+            tableRows.add(adapter.nodeForRow(row));
+        }
+    }
+
+    private static void addRandomChildren(final Random random, final DefaultTreeTableNode parent, final int depth,
+            final int[] nodeCount) {
+        int count = random.nextInt(4) + 1;
+        for (int i = 0; i < count; i++) {
+            DefaultTreeTableNode child = new DefaultTreeTableNode(parent, new Object[] {"node" + nodeCount[0]++});
+            parent.addChild(child);
+            if (depth > 1 && random.nextInt(3) > 0) {
+                addRandomChildren(random, child, depth - 1, nodeCount);
+            }
+        }
+    }
+
+    private static TreePath randomPath(final Random random, final TestModel model) {
+        TreeTableNode node = model.getRoot();
+        TreePath path = new TreePath(node);
+        while (node.getChildCount() > 0 && random.nextInt(3) > 0) {
+            node = node.getChildAt(random.nextInt(node.getChildCount()));
+            path = path.pathByAddingChild(node);
+        }
+        return path;
+    }
+
+    private static void onEdt(final Runnable runnable) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static final class TestModel extends DefaultTreeTableModel {
+
+        private TestModel(final TreeTableNode root) {
+            super(root, new String[] {"Name"});
+        }
+
+        @Override
+        public int getIndexOfChild(final Object parent, final Object child) {
+            return ((TreeTableNode) parent).getChildren().indexOf(child);
+        }
+
+        private void structureChanged(final TreePath path) {
+            fireTreeStructureChanged(this, path.getPath(), null, null);
+        }
+    }
+}
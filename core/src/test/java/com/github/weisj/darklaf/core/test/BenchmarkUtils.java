@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import javax.swing.JComponent;
+
+import com.github.weisj.darklaf.graphics.PaintProfiler;
+import com.github.weisj.darklaf.util.Lambdas;
+
+/**
+ * Shared harness of the headless paint benchmarks. Frames are painted into an offscreen image the size of a
+ * fixed viewport. The average paint time and the bytes allocated per frame (if the jvm supports per thread
+ * allocation counters) are measured after a number of warm-up frames.
+ */
+final class BenchmarkUtils {
+
+    static final int VIEWPORT_WIDTH = 800;
+    static final int VIEWPORT_HEIGHT = 600;
+    static final int WARMUP_FRAMES = 20;
+    static final int MEASURED_FRAMES = 100;
+
+    private BenchmarkUtils() {}
+
+    /**
+     * Runs the action on the event dispatch thread once for every count given by the system property.
+     *
+     * @param property the system property holding the comma separated counts.
+     * @param defaultCounts the counts used if the property isn't set.
+     * @param action the action to run.
+     */
+    static void runForCounts(final String property, final String defaultCounts,
+            final Lambdas.CheckedConsumer<Integer, ? extends Exception> action) {
+        for (int count : getCounts(property, defaultCounts)) {
+            TestUtils.runOnSwingThreadNotThrowing(() -> action.accept(count));
+        }
+    }
+
+    static List<Integer> getCounts(final String property, final String defaultCounts) {
+        List<Integer> counts = new ArrayList<>();
+        for (String count : System.getProperty(property, defaultCounts).split(",")) {
+            counts.add(Integer.parseInt(count.trim()));
+        }
+        return counts;
+    }
+
+    static BufferedImage createViewportImage() {
+        return new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Paints the warm-up frames followed by the measured frames.
+     *
+     * @param paintFrame paints the frame with the given index in the range {@code [0, MEASURED_FRAMES)}. The
+     *        warm-up frames are spread across the same range.
+     * @return the measured result.
+     */
+    static Result measure(final IntConsumer paintFrame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            paintFrame.accept(i * MEASURED_FRAMES / WARMUP_FRAMES);
+        }
+
+        long allocationStart = PaintProfiler.getCurrentThreadAllocatedBytes();
+        long paintStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            paintFrame.accept(i);
+        }
+        long paintTime = System.nanoTime() - paintStart;
+        long allocationEnd = PaintProfiler.getCurrentThreadAllocatedBytes();
+
+        long bytesPerFrame = allocationStart >= 0 && allocationEnd >= 0
+                ? (allocationEnd - allocationStart) / MEASURED_FRAMES
+                : -1;
+        return new Result(paintTime / 1e6 / MEASURED_FRAMES, bytesPerFrame);
+    }
+
+    /**
+     * Returns how far a frame has scrolled from the start to the end of the component.
+     *
+     * @param frame the frame index.
+     * @return the fraction between 0 and 1.
+     */
+    static double scrollFraction(final int frame) {
+        return frame / (double) (MEASURED_FRAMES - 1);
+    }
+
+    /**
+     * Paints the component as if the given rectangle was the visible area of a viewport.
+     *
+     * @param c the component.
+     * @param image the image to paint into.
+     * @param viewRect the visible area of the component.
+     * @param clip the area to repaint.
+     */
+    static void paint(final JComponent c, final BufferedImage image, final Rectangle viewRect,
+            final Rectangle clip) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.translate(-viewRect.x, -viewRect.y);
+            g.setClip(clip);
+            c.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    static final class Result {
+        private final double paintMillisPerFrame;
+        private final long bytesPerFrame;
+
+        private Result(final double paintMillisPerFrame, final long bytesPerFrame) {
+            this.paintMillisPerFrame = paintMillisPerFrame;
+            this.bytesPerFrame = bytesPerFrame;
+        }
+
+        double getPaintMillisPerFrame() {
+            return paintMillisPerFrame;
+        }
+
+        String formatAllocation() {
+            return bytesPerFrame >= 0 ? (bytesPerFrame / 1024) + "KB/frame" : "n/a";
+        }
+    }
+}
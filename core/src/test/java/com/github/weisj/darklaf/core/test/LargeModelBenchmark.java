@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import static com.github.weisj.darklaf.core.test.BenchmarkUtils.VIEWPORT_HEIGHT;
+import static com.github.weisj.darklaf.core.test.BenchmarkUtils.VIEWPORT_WIDTH;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.function.IntFunction;
+
+import javax.swing.AbstractListModel;
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.JTable;
+import javax.swing.JTree;
+import javax.swing.ListCellRenderer;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.github.weisj.darklaf.components.treetable.JTreeTable;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+import com.github.weisj.darklaf.ui.list.DarkListUI;
+import com.github.weisj.darklaf.ui.table.TableConstants;
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+/**
+ * Headless paint and layout benchmarks for the list, table and tree uis with large models.
+ * <p>
+ * Every case paints a fixed size viewport at positions spread across the whole component into an offscreen
+ * image and reports the initial layout time, the average paint time per frame and the bytes allocated per
+ * frame (if the jvm supports per thread allocation counters).
+ * <p>
+ * The benchmarks are skipped unless {@code -Ddarklaf.benchmark=true} is passed. The model sizes can be
+ * configured using {@code -Ddarklaf.benchmark.rows=10000,100000,1000000}.
+ */
+@EnabledIfSystemProperty(named = "darklaf.benchmark", matches = "true")
+class LargeModelBenchmark {
+
+    private static final String DEFAULT_ROW_COUNTS = "10000,100000";
+
+    @BeforeAll
+    static void setupLaf() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void listVertical() {
+        runForRowCounts("JList", rows -> createList(rows, JList.VERTICAL, false, false));
+    }
+
+    @Test
+    void listVerticalAlternateRowColor() {
+        runForRowCounts("JList (alternate rows)", rows -> createList(rows, JList.VERTICAL, false, true));
+    }
+
+    @Test
+    void listVariableHeight() {
+        runForRowCounts("JList (variable height)", rows -> createList(rows, JList.VERTICAL, true, false));
+    }
+
+    @Test
+    void listIncrementalLayout() {
+        runForRowCounts("JList (incremental layout)", rows -> {
+            JList<String> list = createList(rows, JList.VERTICAL, true, false);
+            list.putClientProperty(DarkListUI.KEY_INCREMENTAL_LAYOUT, true);
+            return list;
+        });
+    }
+
+    @Test
+    void listVerticalWrap() {
+        runForRowCounts("JList (vertical wrap)", rows -> createList(rows, JList.VERTICAL_WRAP, false, false));
+    }
+
+    @Test
+    void listHorizontalWrap() {
+        runForRowCounts("JList (horizontal wrap)", rows -> createList(rows, JList.HORIZONTAL_WRAP, false, false));
+    }
+
+    @Test
+    void table() {
+        runForRowCounts("JTable", rows -> createTable(rows, false, false));
+    }
+
+    @Test
+    void tableAlternateRowColor() {
+        runForRowCounts("JTable (alternate rows)", rows -> createTable(rows, false, true));
+    }
+
+    @Test
+    void tableVariableRowHeight() {
+        runForRowCounts("JTable (variable height)", rows -> createTable(rows, true, false));
+    }
+
+    @Test
+    void tree() {
+        runForRowCounts("JTree", rows -> createTree(rows, false, false));
+    }
+
+    @Test
+    void treeAlternateRowColor() {
+        runForRowCounts("JTree (alternate rows)", rows -> createTree(rows, false, true));
+    }
+
+    @Test
+    void treeVariableRowHeight() {
+        runForRowCounts("JTree (variable height)", rows -> createTree(rows, true, false));
+    }
+
+    @Test
+    void treeTable() {
+        runForRowCounts("JTreeTable", LargeModelBenchmark::createTreeTable);
+    }
+
+    private static JList<String> createList(final int rows, final int orientation, final boolean variableHeight,
+            final boolean alternateRowColor) {
+        JList<String> list = new JList<>(new AbstractListModel<String>() {
+            @Override
+            public int getSize() {
+                return rows;
+            }
+
+            @Override
+            public String getElementAt(final int index) {
+                return "Item " + index;
+            }
+        });
+        list.setLayoutOrientation(orientation);
+        list.setVisibleRowCount(orientation == JList.VERTICAL ? 8 : 0);
+        list.putClientProperty(DarkListUI.KEY_ALTERNATE_ROW_COLOR, alternateRowColor);
+        if (variableHeight) {
+            ListCellRenderer<? super String> renderer = list.getCellRenderer();
+            list.setCellRenderer((l, value, index, isSelected, cellHasFocus) -> {
+                Component c = renderer.getListCellRendererComponent(l, value, index, isSelected, cellHasFocus);
+                c.setPreferredSize(null);
+                Dimension size = c.getPreferredSize();
+                size.height += (index % 3) * 4;
+                c.setPreferredSize(size);
+                return c;
+            });
+        } else {
+            list.setPrototypeCellValue("Item " + rows);
+        }
+        list.setSelectionInterval(rows / 4, rows / 2);
+        return list;
+    }
+
+    private static JTable createTable(final int rows, final boolean variableHeight,
+            final boolean alternateRowColor) {
+        JTable table = new JTable(new AbstractTableModel() {
+            @Override
+            public int getRowCount() {
+                return rows;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return 6;
+            }
+
+            @Override
+            public Object getValueAt(final int rowIndex, final int columnIndex) {
+                switch (columnIndex) {
+                    case 0:
+                        return rowIndex;
+                    case 1:
+                        return rowIndex % 2 == 0;
+                    default:
+                        return "Cell " + rowIndex + ":" + columnIndex;
+                }
+            }
+
+            @Override
+            public Class<?> getColumnClass(final int columnIndex) {
+                switch (columnIndex) {
+                    case 0:
+                        return Integer.class;
+                    case 1:
+                        return Boolean.class;
+                    default:
+                        return String.class;
+                }
+            }
+        });
+        table.putClientProperty(TableConstants.KEY_ALTERNATE_ROW_COLOR, alternateRowColor);
+        if (variableHeight) {
+            int baseHeight = table.getRowHeight();
+            for (int i = 0; i < rows; i++) {
+                table.setRowHeight(i, baseHeight + (i % 3) * 4);
+            }
+        }
+        table.setRowSelectionInterval(rows / 4, rows / 2);
+        return table;
+    }
+
+    private static JTree createTree(final int rows, final boolean variableHeight,
+            final boolean alternateRowColor) {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("Root");
+        for (int i = 0; i < rows; i++) {
+            root.add(new DefaultMutableTreeNode("Node " + i, false));
+        }
+        JTree tree = new JTree(new DefaultTreeModel(root));
+        tree.putClientProperty(DarkTreeUI.KEY_ALTERNATE_ROW_COLOR, alternateRowColor);
+        if (variableHeight) {
+            tree.setRowHeight(0);
+        } else {
+            tree.setLargeModel(true);
+        }
+        tree.setSelectionInterval(rows / 4, rows / 2);
+        return tree;
+    }
+
+    private static JTreeTable createTreeTable(final int rows) {
+        String[] headers = new String[] {"Name", "Index", "Parity"};
+        DefaultTreeTableNode root = new DefaultTreeTableNode(null, new Object[] {"Root", -1, ""});
+        for (int i = 0; i < rows; i++) {
+            root.addChild(new DefaultTreeTableNode(root, new Object[] {"Node " + i, i, i % 2 == 0 ? "even" : "odd"}));
+        }
+        JTreeTable treeTable = new JTreeTable(new DefaultTreeTableModel(root, headers));
+        treeTable.setRowSelectionInterval(rows / 4, rows / 2);
+        return treeTable;
+    }
+
+    private static void runForRowCounts(final String name, final IntFunction<JComponent> factory) {
+        BenchmarkUtils.runForCounts("darklaf.benchmark.rows", DEFAULT_ROW_COUNTS, rows -> {
+            JComponent c = factory.apply(rows);
+            long layoutStart = System.nanoTime();
+            Dimension size = c.getPreferredSize();
+            c.setSize(Math.max(size.width, VIEWPORT_WIDTH), Math.max(size.height, VIEWPORT_HEIGHT));
+            c.doLayout();
+            double layoutMillis = (System.nanoTime() - layoutStart) / 1e6;
+
+            BufferedImage image = BenchmarkUtils.createViewportImage();
+            BenchmarkUtils.Result result = BenchmarkUtils.measure(frame -> paintFrame(c, image, frame));
+            System.out.printf("%-28s rows=%-8d layout=%8.2fms paint=%6.3fms/frame alloc=%s%n",
+                    name, rows, layoutMillis, result.getPaintMillisPerFrame(), result.formatAllocation());
+        });
+    }
+
+    /*
+     * Paints the component as if it was placed inside a viewport whose view position is moved
+     * from the start to the end of the component over the course of all frames.
+     */
+    private static void paintFrame(final JComponent c, final BufferedImage image, final int frame) {
+        double fraction = BenchmarkUtils.scrollFraction(frame);
+        Rectangle viewRect = new Rectangle(
+                (int) ((c.getWidth() - VIEWPORT_WIDTH) * fraction),
+                (int) ((c.getHeight() - VIEWPORT_HEIGHT) * fraction),
+                VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        BenchmarkUtils.paint(c, image, viewRect, viewRect);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import static com.github.weisj.darklaf.core.test.BenchmarkUtils.VIEWPORT_HEIGHT;
+import static com.github.weisj.darklaf.core.test.BenchmarkUtils.VIEWPORT_WIDTH;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
+
+import javax.swing.JEditorPane;
+import javax.swing.JTextArea;
+import javax.swing.JTextPane;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Caret;
+import javax.swing.text.DefaultHighlighterDark.DarkHighlightPainter;
+import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
+import javax.swing.text.JTextComponent;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.github.weisj.darklaf.components.text.BulkHighlighter;
+import com.github.weisj.darklaf.components.text.NumberingPane;
+
+/**
+ * Headless paint benchmarks for the text area, text pane and editor pane uis with large documents.
+ * <p>
+ * Every case places a {@link NumberingPane} next to the text component and reports the initial layout time as
+ * well as the average paint time and the bytes allocated per frame (if the jvm supports per thread allocation
+ * counters) for
+ * <ul>
+ * <li>scrolling a fixed size viewport from the start to the end of the document,</li>
+ * <li>repainting the caret as it blinks,</li>
+ * <li>scrolling with a number of highlights added through the highlighter of the component,</li>
+ * <li>scrolling with the same number of highlights added through a {@link BulkHighlighter}.</li>
+ * </ul>
+ * <p>
+ * The benchmarks are skipped unless {@code -Ddarklaf.benchmark=true} is passed. The document sizes can be
+ * configured using {@code -Ddarklaf.benchmark.lines=1000,100000,1000000} and the number of highlights using
+ * {@code -Ddarklaf.benchmark.highlights=10000}.
+ */
+@EnabledIfSystemProperty(named = "darklaf.benchmark", matches = "true")
+class TextRenderingBenchmark {
+
+    private static final String DEFAULT_LINE_COUNTS = "1000,100000";
+    private static final String DEFAULT_HIGHLIGHT_COUNT = "1000";
+    private static final String[] WORDS = {"darklaf", "text", "paint", "caret", "highlight", "line", "view",
+            "document", "offset", "render"};
+
+    @BeforeAll
+    static void setupLaf() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void textArea() {
+        runForLineCounts("JTextArea", JTextArea::new);
+    }
+
+    @Test
+    void textAreaLineWrap() {
+        runForLineCounts("JTextArea (line wrap)", () -> {
+            JTextArea textArea = new JTextArea();
+            textArea.setLineWrap(true);
+            textArea.setWrapStyleWord(true);
+            return textArea;
+        });
+    }
+
+    @Test
+    void textPane() {
+        runForLineCounts("JTextPane", JTextPane::new);
+    }
+
+    @Test
+    void editorPane() {
+        runForLineCounts("JEditorPane", JEditorPane::new);
+    }
+
+    private static void runForLineCounts(final String name, final Supplier<JTextComponent> factory) {
+        int highlightCount = Integer.parseInt(
+                System.getProperty("darklaf.benchmark.highlights", DEFAULT_HIGHLIGHT_COUNT).trim());
+        BenchmarkUtils.runForCounts("darklaf.benchmark.lines", DEFAULT_LINE_COUNTS, lines -> {
+            JTextComponent text = factory.get();
+            text.setText(createText(lines));
+            NumberingPane numberingPane = new NumberingPane();
+            numberingPane.setTextComponent(text);
+
+            long layoutStart = System.nanoTime();
+            layout(text, numberingPane);
+            double layoutMillis = (System.nanoTime() - layoutStart) / 1e6;
+            BufferedImage image = BenchmarkUtils.createViewportImage();
+            System.out.printf("%-24s lines=%-8d layout=%8.2fms%n", name, lines, layoutMillis);
+
+            print(name, lines, "scroll",
+                    BenchmarkUtils.measure(frame -> paintScrollFrame(text, numberingPane, image, frame)));
+            print(name, lines, "caret blink", measureCaretBlink(text, image));
+
+            int[] starts = new int[highlightCount];
+            int[] ends = new int[highlightCount];
+            createHighlightRanges(text, starts, ends);
+
+            Highlighter highlighter = text.getHighlighter();
+            DarkHighlightPainter painter = new DarkHighlightPainter();
+            for (int i = 0; i < highlightCount; i++) {
+                highlighter.addHighlight(starts[i], ends[i], painter);
+            }
+            print(name, lines, highlightCount + " highlights",
+                    BenchmarkUtils.measure(frame -> paintScrollFrame(text, numberingPane, image, frame)));
+            highlighter.removeAllHighlights();
+
+            BulkHighlighter bulkHighlighter = new BulkHighlighter();
+            bulkHighlighter.install(text);
+            bulkHighlighter.setHighlights(starts, ends, highlightCount);
+            print(name, lines, highlightCount + " bulk highlights",
+                    BenchmarkUtils.measure(frame -> paintScrollFrame(text, numberingPane, image, frame)));
+            bulkHighlighter.uninstall();
+        });
+    }
+
+    private static void print(final String name, final int lines, final String measurement,
+            final BenchmarkUtils.Result result) {
+        System.out.printf("%-24s lines=%-8d %-24s paint=%7.3fms/frame alloc=%s%n",
+                name, lines, measurement, result.getPaintMillisPerFrame(), result.formatAllocation());
+    }
+
+    private static String createText(final int lines) {
+        StringBuilder builder = new StringBuilder(lines * 48);
+        for (int i = 0; i < lines; i++) {
+            builder.append(i).append(':');
+            // Vary the line length to avoid all lines having the same width.
+            int wordCount = 3 + i % 11;
+            for (int j = 0; j < wordCount; j++) {
+                builder.append(' ').append(WORDS[(i + j) % WORDS.length]);
+            }
+            if (i < lines - 1) builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /*
+     * Spreads the highlights evenly across all lines of the document. Each highlight covers a single word.
+     */
+    private static void createHighlightRanges(final JTextComponent text, final int[] starts, final int[] ends) {
+        Element root = text.getDocument().getDefaultRootElement();
+        int lineCount = root.getElementCount();
+        for (int i = 0; i < starts.length; i++) {
+            Element line = root.getElement((int) ((long) i * lineCount / starts.length));
+            int start = Math.min(line.getStartOffset() + 2, line.getEndOffset() - 1);
+            starts[i] = start;
+            ends[i] = Math.min(start + 8, line.getEndOffset() - 1);
+        }
+    }
+
+    private static void layout(final JTextComponent text, final NumberingPane numberingPane) {
+        text.setSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        Dimension size = text.getPreferredSize();
+        text.setSize(VIEWPORT_WIDTH, Math.max(size.height, VIEWPORT_HEIGHT));
+        text.doLayout();
+        Dimension numberingSize = numberingPane.getPreferredSize();
+        numberingPane.setSize(numberingSize.width, text.getHeight());
+    }
+
+    private static BenchmarkUtils.Result measureCaretBlink(final JTextComponent text, final BufferedImage image)
+            throws BadLocationException {
+        Caret caret = text.getCaret();
+        Element root = text.getDocument().getDefaultRootElement();
+        caret.setDot(root.getElement(root.getElementCount() / 2).getStartOffset() + 2);
+        Rectangle caretRect = text.modelToView(caret.getDot());
+        // The caret repaints a slightly larger region than its actual bounds.
+        Rectangle damage = new Rectangle(caretRect.x - 2, caretRect.y, caretRect.width + 4, caretRect.height);
+        Rectangle viewRect = new Rectangle(0, Math.max(0, caretRect.y - VIEWPORT_HEIGHT / 2),
+                VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        BenchmarkUtils.Result result = BenchmarkUtils.measure(frame -> {
+            caret.setVisible(frame % 2 == 0);
+            BenchmarkUtils.paint(text, image, viewRect, damage);
+        });
+        caret.setVisible(false);
+        return result;
+    }
+
+    /*
+     * Paints the text component and the numbering pane as if they were placed inside a scroll pane whose view
+     * position is moved from the start to the end of the document over the course of all frames.
+     */
+    private static void paintScrollFrame(final JTextComponent text, final NumberingPane numberingPane,
+            final BufferedImage image, final int frame) {
+        int y = (int) ((text.getHeight() - VIEWPORT_HEIGHT) * BenchmarkUtils.scrollFraction(frame));
+        Rectangle viewRect = new Rectangle(0, y, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        BenchmarkUtils.paint(text, image, viewRect, viewRect);
+        Rectangle rowHeaderRect = new Rectangle(0, y, numberingPane.getWidth(), VIEWPORT_HEIGHT);
+        BenchmarkUtils.paint(numberingPane, image, rowHeaderRect, rowHeaderRect);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PaintUtilTest {
+
+    private static final int SIZE = 60;
+
+    @Test
+    void testAppendedLinesMatchDrawnLines() {
+        for (double scale : new double[] {1.0, 1.25, 1.5, 2.0}) {
+            BufferedImage drawn = createImage();
+            BufferedImage filled = createImage();
+
+            Graphics2D g = drawn.createGraphics();
+            g.scale(scale, scale);
+            g.setColor(Color.RED);
+            Graphics2D g2 = filled.createGraphics();
+            g2.scale(scale, scale);
+            g2.setColor(Color.RED);
+            Path2D path = new Path2D.Float(Path2D.WIND_NON_ZERO);
+            for (int i = 0; i < 5; i++) {
+                PaintUtil.drawHLine(g, 2, 35, 3 + 7 * i);
+                PaintUtil.appendHLine(path, 2, 35, 3 + 7 * i);
+                PaintUtil.drawVLine(g, 4 + 6 * i, 30, 1);
+                PaintUtil.appendVLine(path, 4 + 6 * i, 30, 1);
+            }
+            g2.fill(path);
+            g.dispose();
+            g2.dispose();
+
+            for (int x = 0; x < SIZE; x++) {
+                for (int y = 0; y < SIZE; y++) {
+                    int px = x;
+                    int py = y;
+                    Assertions.assertEquals(drawn.getRGB(x, y), filled.getRGB(x, y),
+                            () -> "Pixel (" + px + ", " + py + ") differs at scale " + scale);
+                }
+            }
+        }
+    }
+
+    private static BufferedImage createImage() {
+        return new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ScratchImagePoolTest {
+
+    @AfterEach
+    void clearPool() {
+        ScratchImagePool.clear();
+    }
+
+    @Test
+    void testSizesAreBucketed() {
+        assertSize(16, 16, ScratchImagePool.acquire(null, 10, 1, Color.WHITE));
+        assertSize(32, 64, ScratchImagePool.acquire(null, 17, 33, Color.WHITE));
+        assertSize(64, 16, ScratchImagePool.acquire(null, 64, 16, Color.WHITE));
+        assertSize(16, 16, ScratchImagePool.acquire(null, 0, -5, Color.WHITE));
+    }
+
+    @Test
+    void testReleasedImageIsReused() {
+        BufferedImage image = ScratchImagePool.acquire(null, 20, 20, Color.WHITE);
+        ScratchImagePool.release(image);
+        Assertions.assertSame(image, ScratchImagePool.acquire(null, 30, 25, Color.WHITE));
+    }
+
+    @Test
+    void testAcquiredImageIsNotShared() {
+        BufferedImage first = ScratchImagePool.acquire(null, 20, 20, Color.WHITE);
+        BufferedImage second = ScratchImagePool.acquire(null, 20, 20, Color.WHITE);
+        Assertions.assertNotSame(first, second);
+        ScratchImagePool.release(first);
+        ScratchImagePool.release(second);
+    }
+
+    @Test
+    void testDifferentBucketsAreNotMixed() {
+        BufferedImage image = ScratchImagePool.acquire(null, 20, 20, Color.WHITE);
+        ScratchImagePool.release(image);
+        Assertions.assertNotSame(image, ScratchImagePool.acquire(null, 40, 20, Color.WHITE));
+    }
+
+    @Test
+    void testRequestedRegionIsCleared() {
+        BufferedImage image = ScratchImagePool.acquire(null, 20, 20, Color.RED);
+        image.setRGB(5, 5, Color.BLUE.getRGB());
+        ScratchImagePool.release(image);
+        BufferedImage reused = ScratchImagePool.acquire(null, 20, 20, Color.GREEN);
+        Assertions.assertSame(image, reused);
+        Assertions.assertEquals(Color.GREEN.getRGB(), reused.getRGB(5, 5));
+        Assertions.assertEquals(Color.GREEN.getRGB(), reused.getRGB(19, 19));
+    }
+
+    @Test
+    void testForeignImageIsNotPooled() {
+        BufferedImage foreign = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        ScratchImagePool.release(foreign);
+        Assertions.assertNotSame(foreign, ScratchImagePool.acquire(null, 16, 16, Color.WHITE));
+    }
+
+    @Test
+    void testClearFlushesPool() {
+        BufferedImage image = ScratchImagePool.acquire(null, 20, 20, Color.WHITE);
+        ScratchImagePool.release(image);
+        ScratchImagePool.clear();
+        Assertions.assertNotSame(image, ScratchImagePool.acquire(null, 20, 20, Color.WHITE));
+    }
+
+    private static void assertSize(final int width, final int height, final BufferedImage image) {
+        Assertions.assertEquals(width, image.getWidth());
+        Assertions.assertEquals(height, image.getHeight());
+        ScratchImagePool.release(image);
+    }
+}
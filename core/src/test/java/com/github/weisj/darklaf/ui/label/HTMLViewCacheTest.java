@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.label;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.text.View;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HTMLViewCacheTest {
+
+    @Test
+    void testViewsAreReused() throws Exception {
+        onEdt(() -> {
+            JLabel renderer = new DefaultTableCellRenderer();
+            View first = setText(renderer, "<html><b>first</b></html>");
+            View second = setText(renderer, "<html><b>second</b></html>");
+            Assertions.assertNotSame(first, second);
+            Assertions.assertSame(first, setText(renderer, "<html><b>first</b></html>"));
+        });
+    }
+
+    @Test
+    void testCapacityFollowsVisibleCells() throws Exception {
+        onEdt(() -> {
+            JTable table = new JTable(1000, 10);
+            table.setRowHeight(10);
+            table.setBounds(0, 0, 750, 10000);
+            JViewport viewport = new JViewport();
+            viewport.setView(table);
+            viewport.setSize(750, 1000);
+            CellRendererPane pane = new CellRendererPane();
+            table.add(pane);
+            JLabel renderer = new DefaultTableCellRenderer();
+
+            setText(renderer, "<html>a</html>");
+            // The renderer isn't part of the renderer pane outside of painting.
+            Assertions.assertEquals(32, HTMLViewCache.getCache(renderer).getCapacity());
+
+            pane.add(renderer);
+            setText(renderer, "<html>b</html>");
+            // 100 rows with 10 columns each.
+            Assertions.assertEquals(2000, HTMLViewCache.getCache(renderer).getCapacity());
+
+            viewport.setSize(750, 500);
+            setText(renderer, "<html>b</html>");
+            // The capacity is only adjusted when a view has to be created.
+            Assertions.assertEquals(2000, HTMLViewCache.getCache(renderer).getCapacity());
+            setText(renderer, "<html>c</html>");
+            Assertions.assertEquals(2000, HTMLViewCache.getCache(renderer).getCapacity());
+
+            viewport.setSize(750, 100);
+            setText(renderer, "<html>d</html>");
+            Assertions.assertEquals(200, HTMLViewCache.getCache(renderer).getCapacity());
+        });
+    }
+
+    private static View setText(final JLabel label, final String text) {
+        label.setText(text);
+        Assertions.assertTrue(HTMLViewCache.updateRenderer(label));
+        return (View) label.getClientProperty(BasicHTML.propertyKey);
+    }
+
+    private static void onEdt(final Runnable runnable) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RowHeightIndexTest {
+
+    @Test
+    void testAppendToEmptyIndex() {
+        RowHeightIndex index = new RowHeightIndex();
+        index.reset(0, 10);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            index.insert(index.size(), 1);
+            expected.add(10);
+            assertMatches(expected, index);
+        }
+        index.setHeight(50, 3);
+        expected.set(50, 3);
+        assertMatches(expected, index);
+    }
+
+    @Test
+    void testAppendBlocksToEmptyIndex() {
+        RowHeightIndex index = new RowHeightIndex();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            index.insert(index.size(), 7);
+            for (int j = 0; j < 7; j++) {
+                expected.add(0);
+            }
+            assertMatches(expected, index);
+        }
+    }
+
+    @Test
+    void testRandomModifications() {
+        Random random = new Random(42);
+        RowHeightIndex index = new RowHeightIndex();
+        List<Integer> expected = new ArrayList<>();
+        int estimatedHeight = 12;
+        index.reset(0, estimatedHeight);
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 || expected.isEmpty()) {
+                int at = random.nextInt(expected.size() + 1);
+                int count = 1 + random.nextInt(5);
+                index.insert(at, count);
+                for (int i = 0; i < count; i++) {
+                    expected.add(at, estimatedHeight);
+                }
+            } else if (op == 1) {
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size() - 1, from + random.nextInt(4));
+                index.remove(from, to);
+                expected.subList(from, to + 1).clear();
+            } else {
+                int row = random.nextInt(expected.size());
+                int height = random.nextInt(40);
+                index.setHeight(row, height);
+                Assertions.assertTrue(index.isMeasured(row));
+                expected.set(row, height);
+            }
+            assertMatches(expected, index);
+        }
+    }
+
+    @Test
+    void testRowAt() {
+        RowHeightIndex index = new RowHeightIndex();
+        Assertions.assertEquals(-1, index.getRowAt(0));
+        index.reset(3, 10);
+        index.setHeight(1, 20);
+        Assertions.assertEquals(0, index.getRowAt(-5));
+        Assertions.assertEquals(0, index.getRowAt(9));
+        Assertions.assertEquals(1, index.getRowAt(10));
+        Assertions.assertEquals(1, index.getRowAt(29));
+        Assertions.assertEquals(2, index.getRowAt(30));
+        Assertions.assertEquals(2, index.getRowAt(1000));
+    }
+
+    private static void assertMatches(final List<Integer> expected, final RowHeightIndex index) {
+        Assertions.assertEquals(expected.size(), index.size());
+        long offset = 0;
+        for (int row = 0; row < expected.size(); row++) {
+            int height = expected.get(row);
+            Assertions.assertEquals(height, index.getHeight(row));
+            Assertions.assertEquals(offset, index.getOffset(row));
+            if (height > 0) {
+                Assertions.assertEquals(row, index.getRowAt(offset));
+                Assertions.assertEquals(row, index.getRowAt(offset + height - 1));
+            }
+            offset += height;
+        }
+        Assertions.assertEquals(offset, index.getTotalHeight());
+    }
+}
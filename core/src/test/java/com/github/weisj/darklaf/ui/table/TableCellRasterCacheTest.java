@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableCellRasterCacheTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 16;
+
+    private final List<String> paintedCells = new ArrayList<>();
+    private DefaultTableModel model;
+    private JTable table;
+    private TableCellRasterCache cache;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @BeforeEach
+    void setup() {
+        model = new DefaultTableModel(new Object[][] {{"a", "b"}, {"c", "d"}}, new Object[] {"x", "y"});
+        table = new JTable(model);
+        table.setSize(2 * WIDTH, 2 * HEIGHT);
+        cache = new TableCellRasterCache(table);
+        cache.install();
+        image = new BufferedImage(4 * WIDTH, 4 * HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+    }
+
+    @AfterEach
+    void cleanup() {
+        g.dispose();
+        cache.uninstall();
+    }
+
+    @Test
+    void testUnchangedCellIsPaintedFromCache() {
+        paint(0, 0);
+        paint(0, 0);
+        paint(0, 1);
+        paint(0, 0);
+        Assertions.assertIterableEquals(listOf("0,0", "0,1"), paintedCells);
+    }
+
+    @Test
+    void testValueChangeInvalidatesCell() {
+        paint(0, 0);
+        paint(1, 1);
+        model.setValueAt("changed", 0, 0);
+        paint(0, 0);
+        paint(1, 1);
+        Assertions.assertIterableEquals(listOf("0,0", "1,1", "0,0"), paintedCells);
+    }
+
+    @Test
+    void testStructureChangeInvalidatesAllCells() {
+        paint(0, 0);
+        paint(1, 1);
+        model.addRow(new Object[] {"e", "f"});
+        paint(0, 0);
+        paint(1, 1);
+        Assertions.assertIterableEquals(listOf("0,0", "1,1", "0,0", "1,1"), paintedCells);
+    }
+
+    @Test
+    void testUnreportedValueChangeIsDetected() {
+        paint(0, 0);
+        model.getDataVector().get(0).set(0, "silent");
+        paint(0, 0);
+        Assertions.assertIterableEquals(listOf("0,0", "0,0"), paintedCells);
+    }
+
+    @Test
+    void testRendererChangeInvalidatesCell() {
+        paint(0, 0);
+        table.setDefaultRenderer(Object.class, new DefaultTableCellRenderer());
+        paint(0, 0);
+        Assertions.assertIterableEquals(listOf("0,0", "0,0"), paintedCells);
+    }
+
+    @Test
+    void testSelectionChangeInvalidatesCell() {
+        paint(0, 0);
+        paint(1, 1);
+        table.setRowSelectionInterval(1, 1);
+        paint(0, 0);
+        paint(1, 1);
+        Assertions.assertIterableEquals(listOf("0,0", "1,1", "1,1"), paintedCells);
+        table.setRowSelectionInterval(0, 0);
+        paint(0, 0);
+        paint(1, 1);
+        Assertions.assertIterableEquals(listOf("0,0", "1,1", "1,1", "0,0", "1,1"), paintedCells);
+    }
+
+    @Test
+    void testSizeAndScaleChangeInvalidateCell() {
+        paint(0, 0);
+        cache.paintCell(g, 0, 0, 0, 0, WIDTH + 1, HEIGHT, painter(0, 0));
+        Assertions.assertEquals(2, paintedCells.size());
+        g.scale(2, 2);
+        paint(0, 0);
+        Assertions.assertEquals(3, paintedCells.size());
+        paint(0, 0);
+        Assertions.assertEquals(3, paintedCells.size());
+    }
+
+    @Test
+    void testModelChange() {
+        paint(0, 0);
+        table.setModel(new DefaultTableModel(new Object[][] {{"a", "b"}}, new Object[] {"x", "y"}));
+        cache.updateModel();
+        paint(0, 0);
+        Assertions.assertEquals(2, paintedCells.size());
+    }
+
+    @Test
+    void testLcdTextIsNotCached() {
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
+        paint(0, 0);
+        paint(0, 0);
+        Assertions.assertEquals(2, paintedCells.size());
+    }
+
+    @Test
+    void testCapacityFollowsVisibleCells() {
+        DefaultTableModel largeModel = new DefaultTableModel(1000, 50);
+        table.setModel(largeModel);
+        table.setRowHeight(HEIGHT);
+        table.setSize(50 * 75, 40 * HEIGHT);
+        cache.beginPaint(g);
+        Assertions.assertTrue(cache.getCapacity() >= 2 * 50 * 40, () -> "Capacity " + cache.getCapacity());
+
+        table.setSize(75, HEIGHT);
+        cache.beginPaint(g);
+        Assertions.assertTrue(cache.getCapacity() < 2 * 50 * 40, () -> "Capacity " + cache.getCapacity());
+    }
+
+    private void paint(final int row, final int column) {
+        cache.beginPaint(g);
+        cache.paintCell(g, row, column, column * WIDTH, row * HEIGHT, WIDTH, HEIGHT, painter(row, column));
+    }
+
+    private TableCellRasterCache.CellPainter painter(final int row, final int column) {
+        return (cg, x, y, w, h) -> {
+            paintedCells.add(row + "," + column);
+            cg.fillRect(x, y, w, h);
+        };
+    }
+
+    private static List<String> listOf(final String... values) {
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.text;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CaretGeometryCacheTest {
+
+    @Test
+    void testCaretMovementUpdatesBounds() throws Exception {
+        onEdt(() -> {
+            JTextArea textArea = createTextArea("first\nsecond\nthird");
+            textArea.setCaretPosition(0);
+            Rectangle first = caretBounds(textArea);
+            textArea.setCaretPosition(textArea.getDocument().getLength());
+            Rectangle last = caretBounds(textArea);
+            Assertions.assertTrue(last.y > first.y);
+            Assertions.assertEquals(uncachedCaretBounds(textArea), last);
+        });
+    }
+
+    @Test
+    void testLinesMovedWithoutDocumentChange() throws Exception {
+        onEdt(() -> {
+            JTextPane textPane = new JTextPane();
+            new JPanel(null).add(textPane);
+            textPane.setSize(200, 200);
+            JComponent embedded = new JPanel();
+            embedded.setPreferredSize(new Dimension(10, 10));
+            textPane.insertComponent(embedded);
+            Document doc = textPane.getDocument();
+            insertString(doc, doc.getLength(), "\ntext");
+            textPane.setCaretPosition(doc.getLength());
+            CaretGeometryCache.install(textPane);
+
+            Rectangle before = caretBounds(textPane);
+            embedded.setPreferredSize(new Dimension(10, 50));
+            /*
+             * ComponentView wraps the component in a container which reports the change to the root view. It is
+             * never validated without a peer, hence update its cached sizes like a layout pass would.
+             */
+            Component wrapper = textPane.getComponent(0);
+            wrapper.doLayout();
+            wrapper.invalidate();
+            Rectangle after = caretBounds(textPane);
+            Assertions.assertTrue(after.y > before.y);
+            Assertions.assertEquals(uncachedCaretBounds(textPane), after);
+        });
+    }
+
+    @Test
+    void testUninstallRestoresLayout() throws Exception {
+        onEdt(() -> {
+            JTextArea textArea = new JTextArea();
+            LayoutManager layout = textArea.getLayout();
+            CaretGeometryCache.install(textArea);
+            Assertions.assertNotSame(layout, textArea.getLayout());
+            CaretGeometryCache.uninstall(textArea);
+            Assertions.assertSame(layout, textArea.getLayout());
+        });
+    }
+
+    private static JTextArea createTextArea(final String text) {
+        JTextArea textArea = new JTextArea(text);
+        textArea.setSize(200, 200);
+        CaretGeometryCache.install(textArea);
+        return textArea;
+    }
+
+    private static Rectangle caretBounds(final JTextComponent c) {
+        try {
+            Rectangle r = CaretGeometryCache.getCaretBounds(c);
+            Assertions.assertNotNull(r);
+            return r;
+        } catch (final BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Rectangle uncachedCaretBounds(final JTextComponent c) {
+        try {
+            return c.getUI().modelToView(c, c.getCaretPosition());
+        } catch (final BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void insertString(final Document doc, final int offset, final String text) {
+        try {
+            doc.insertString(offset, text, null);
+        } catch (final BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void onEdt(final Runnable runnable) throws InterruptedException {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+}
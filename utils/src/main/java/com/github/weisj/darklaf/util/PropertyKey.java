@@ -43,10 +43,12 @@ public final class PropertyKey {
     public static final String WINDOW_DECORATIONS_STYLE = "windowDecorationStyle";
     public static final String COMPONENT_POPUP_MENU = "componentPopupMenu";
     public static final String TITLE = "title";
+    public static final String TEXT = "text";
     public static final String VISIBLE = "visible";
     public static final String FOCUSABLE = "focusable";
     public static final String ROLLOVER = AbstractButton.ROLLOVER_ENABLED_CHANGED_PROPERTY;
     public static final String LAF = "lookAndFeel";
     public static final String GRAPHICS_CONFIGURATION = "graphicsConfiguration";
     public static final String BORDER = "border";
+    public static final String MODEL = "model";
 }
@@ -72,6 +72,34 @@ public final class StringUtil {
         }
     }
 
+    public static String toLowerCase(final String a) {
+        return a == null ? null : toLowerCase((CharSequence) a).toString();
+    }
+
+    /**
+     * Lower cases the given sequence character by character. Unlike {@link String#toLowerCase()} the result
+     * always has the same length as the input, hence offsets into the result correspond to offsets into the
+     * input.
+     *
+     * @param s the sequence.
+     * @return the lower cased sequence.
+     */
+    public static CharSequence toLowerCase(final CharSequence s) {
+        if (s == null) {
+            throw new NullPointerException("CharSequence can't be null");
+        }
+        if (s.length() == 0) {
+            return s;
+        }
+
+        StringBuilder answer = new StringBuilder(s.length());
+
+        for (int i = 0; i < s.length(); ++i) {
+            answer.append(toLowerCase(s.charAt(i)));
+        }
+        return answer;
+    }
+
     public static Iterable<String> split(final String s, final String separator) {
         return split(s, separator, true);
     }
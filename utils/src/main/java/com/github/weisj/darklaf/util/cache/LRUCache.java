@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A thread safe cache holding at most a fixed number of entries. If the capacity is exceeded the
+ * least recently used entry is evicted.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class LRUCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, V> cache;
+
+    public LRUCache(final int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > LRUCache.this.capacity;
+            }
+        };
+    }
+
+    public synchronized V get(final K key) {
+        return cache.get(key);
+    }
+
+    public synchronized void put(final K key, final V value) {
+        if (value != null) {
+            cache.put(key, value);
+        } else {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Returns the value associated with the key. If no value is present it is computed using the given
+     * function. The computation happens outside the lock, hence concurrent callers may compute the
+     * value more than once, but only a single value will be retained.
+     *
+     * @param key the key.
+     * @param mappingFunction the function to compute the value.
+     * @return the cached value.
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) return value;
+        V computed = mappingFunction.apply(key);
+        if (computed == null) return null;
+        synchronized (this) {
+            V existing = cache.get(key);
+            if (existing != null) return existing;
+            cache.put(key, computed);
+        }
+        return computed;
+    }
+
+    public synchronized boolean containsKey(final K key) {
+        return cache.containsKey(key);
+    }
+
+    public synchronized void remove(final K key) {
+        cache.remove(key);
+    }
+
+    public synchronized void removeIf(final Predicate<? super K> keyPredicate) {
+        cache.keySet().removeIf(keyPredicate);
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return cache.isEmpty();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
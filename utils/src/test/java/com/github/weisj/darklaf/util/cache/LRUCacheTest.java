@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LRUCacheTest {
+
+    @Test
+    void testCapacityIsRespected() {
+        LRUCache<Integer, String> cache = new LRUCache<>(3);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.get(0));
+        Assertions.assertEquals("9", cache.get(9));
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        LRUCache<Integer, String> cache = new LRUCache<>(2);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.get(1);
+        cache.put(3, "3");
+        Assertions.assertTrue(cache.containsKey(1));
+        Assertions.assertFalse(cache.containsKey(2));
+        Assertions.assertTrue(cache.containsKey(3));
+    }
+
+    @Test
+    void testComputeIfAbsent() {
+        LRUCache<Integer, String> cache = new LRUCache<>(2);
+        AtomicInteger computations = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("1", cache.computeIfAbsent(1, k -> {
+                computations.incrementAndGet();
+                return String.valueOf(k);
+            }));
+        }
+        Assertions.assertEquals(1, computations.get());
+        Assertions.assertNull(cache.computeIfAbsent(2, k -> null));
+        Assertions.assertFalse(cache.containsKey(2));
+    }
+
+    @Test
+    void testRemoveIf() {
+        LRUCache<Integer, String> cache = new LRUCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+        cache.removeIf(k -> k % 2 == 0);
+        Assertions.assertEquals(5, cache.size());
+        Assertions.assertFalse(cache.containsKey(4));
+        Assertions.assertTrue(cache.containsKey(5));
+    }
+}